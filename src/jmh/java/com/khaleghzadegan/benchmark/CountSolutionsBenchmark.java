@@ -0,0 +1,38 @@
+package com.khaleghzadegan.benchmark;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uniqueness screening of the corpus puzzles of one given-count tier, one puzzle per invocation. Run with
+ * {@code -t} set to the core count for the throughput of a whole node.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CountSolutionsBenchmark {
+
+    @Param({"LE_27", "LE_29", "LE_31", "GT_31"})
+    public PuzzleCorpus.GivensTier givensTier;
+
+    private final GamePlayService gamePlayService = GamePlayService.build();
+    private List<PackedSudokuGrid> puzzles;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        puzzles = PuzzleCorpus.load(givensTier);
+    }
+
+    @Benchmark
+    public int countSolutions() {
+        return gamePlayService.countSolutions(puzzles.get(index++ % puzzles.size()), 2);
+    }
+}
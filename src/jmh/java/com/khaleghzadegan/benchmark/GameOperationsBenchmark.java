@@ -0,0 +1,118 @@
+package com.khaleghzadegan.benchmark;
+
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SelectionStrategy;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.GameOperationsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each genetic operator on its own. Operators mutate their input, so every invocation first restores a scratch
+ * individual from a pre-mutated source; {@link #copyBaseline()} measures that restore alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameOperationsBenchmark {
+
+    @Param({"LE_27", "LE_29", "LE_31", "GT_31"})
+    public PuzzleCorpus.GivensTier givensTier;
+
+    @Param({"TRUNCATION", "TOURNAMENT", "RANK"})
+    public SelectionStrategy selectionStrategy;
+
+    private GameOperationsService gameOperationsService;
+    private PackedSudokuGrid[] population;
+    private PackedSudokuGrid[] offspring;
+    private PackedSudokuGrid[] nextGeneration;
+    private PackedSudokuGrid scratch1;
+    private PackedSudokuGrid scratch2;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SeededRandom random = new SeededRandom(42L);
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setSelectionStrategy(selectionStrategy);
+        gameOperationsService = GameOperationsService.build(settings, random.split());
+        PackedSudokuGrid blueprint = PuzzleCorpus.load(givensTier).get(0);
+        population = createPopulation(blueprint, random);
+        offspring = createPopulation(blueprint, random);
+        nextGeneration = createPopulation(blueprint, random);
+        scratch1 = new PackedSudokuGrid(blueprint);
+        scratch2 = new PackedSudokuGrid(blueprint);
+    }
+
+    private PackedSudokuGrid[] createPopulation(PackedSudokuGrid blueprint, SeededRandom random) {
+        PackedSudokuGrid[] individuals = new PackedSudokuGrid[GeneticAlgorithmSettings.DEFAULT_POPULATION_COUNT];
+        for (int i = 0; i < individuals.length; i++) {
+            PackedSudokuGrid individual = new PackedSudokuGrid(blueprint);
+            for (int j = 0; j < GridGeometry.STANDARD.getCellCount(); j++) {
+                if (!individual.isFixed(j)) individual.setCellValue(j, random.nextInt(9) + 1);
+            }
+            gameOperationsService.calculateAndUpdateFitnessValue(individual);
+            individuals[i] = individual;
+        }
+        return individuals;
+    }
+
+    private PackedSudokuGrid nextIndividual() {
+        index = (index + 1) % population.length;
+        scratch1.copyFrom(population[index]);
+        return scratch1;
+    }
+
+    @Benchmark
+    public PackedSudokuGrid copyBaseline() {
+        return nextIndividual();
+    }
+
+    @Benchmark
+    public PackedSudokuGrid removeRepetition() {
+        PackedSudokuGrid individual = nextIndividual();
+        gameOperationsService.removeRepetition(individual);
+        return individual;
+    }
+
+    @Benchmark
+    public int calculateAndUpdateFitnessValue() {
+        PackedSudokuGrid individual = nextIndividual();
+        gameOperationsService.calculateAndUpdateFitnessValue(individual);
+        return individual.getGridFitnessValue();
+    }
+
+    @Benchmark
+    public PackedSudokuGrid performUniformRowWiseCrossover() {
+        PackedSudokuGrid individual = nextIndividual();
+        scratch2.copyFrom(offspring[index]);
+        gameOperationsService.performUniformRowWiseCrossover(individual, scratch2);
+        return scratch2;
+    }
+
+    @Benchmark
+    public PackedSudokuGrid performBitWiseMutation() {
+        PackedSudokuGrid individual = nextIndividual();
+        gameOperationsService.performBitWiseMutation(individual);
+        return individual;
+    }
+
+    @Benchmark
+    public PackedSudokuGrid performSwapMutation() {
+        PackedSudokuGrid individual = nextIndividual();
+        gameOperationsService.performSwapMutation(individual);
+        return individual;
+    }
+
+    @Benchmark
+    public PackedSudokuGrid[] performSelection() {
+        gameOperationsService.performSelection(population, offspring, nextGeneration);
+        return nextGeneration;
+    }
+}
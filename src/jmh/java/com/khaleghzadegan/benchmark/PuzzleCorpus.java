@@ -0,0 +1,49 @@
+package com.khaleghzadegan.benchmark;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bundled benchmark puzzles, grouped by the given-count tiers used by the genetic solver's reset point.
+ */
+public final class PuzzleCorpus {
+
+    public enum GivensTier {
+        LE_27("givens-le-27.txt"),
+        LE_29("givens-le-29.txt"),
+        LE_31("givens-le-31.txt"),
+        GT_31("givens-gt-31.txt");
+
+        private final String fileName;
+
+        GivensTier(String fileName) {
+            this.fileName = fileName;
+        }
+    }
+
+    private PuzzleCorpus() {
+    }
+
+    public static List<PackedSudokuGrid> load(GivensTier givensTier) {
+        List<PackedSudokuGrid> puzzles = new ArrayList<>();
+        try (InputStream inputStream = PuzzleCorpus.class.getResourceAsStream("/corpus/" + givensTier.fileName);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#"))
+                    puzzles.add(PackedSudokuGrid.fromLine(line.strip()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return puzzles;
+    }
+}
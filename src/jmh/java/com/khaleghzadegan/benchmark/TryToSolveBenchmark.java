@@ -0,0 +1,88 @@
+package com.khaleghzadegan.benchmark;
+
+import com.khaleghzadegan.logic.model.EncodingStrategy;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SelectionStrategy;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end solving of the corpus puzzles of one given-count tier, one puzzle per invocation. The
+ * {@code solved} and {@code attempted} counters give the success rate of the tier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TryToSolveBenchmark {
+
+    @Param({"LE_27", "LE_29", "LE_31", "GT_31"})
+    public PuzzleCorpus.GivensTier givensTier;
+
+    @Param({"GENETIC", "BACKTRACKING"})
+    public SolverStrategy solverStrategy;
+
+    @Param({"2000"})
+    public int iterationCount;
+
+    @Param({"true"})
+    public boolean constraintPropagation;
+
+    @Param({"TRUNCATION"})
+    public SelectionStrategy selectionStrategy;
+
+    @Param({"false", "true"})
+    public boolean adaptiveControl;
+
+    @Param({"DIGITS", "ROW_PERMUTATIONS"})
+    public EncodingStrategy encodingStrategy;
+
+    private GamePlayService gamePlayService;
+    private List<PackedSudokuGrid> puzzles;
+    private int index;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SuccessCounters {
+        public long solved;
+        public long attempted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            solved = 0;
+            attempted = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        puzzles = PuzzleCorpus.load(givensTier);
+        if (solverStrategy == SolverStrategy.GENETIC) {
+            GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+            settings.setIterationCount(iterationCount);
+            settings.setConstraintPropagationEnabled(constraintPropagation);
+            settings.setSelectionStrategy(selectionStrategy);
+            settings.setAdaptiveControlEnabled(adaptiveControl);
+            settings.setEncodingStrategy(encodingStrategy);
+            gamePlayService = GamePlayService.build(settings);
+        } else {
+            gamePlayService = GamePlayService.build(solverStrategy);
+        }
+    }
+
+    @Benchmark
+    public PackedSudokuGrid tryToSolve(SuccessCounters successCounters) {
+        index++;
+        PackedSudokuGrid answer = gamePlayService.tryToSolve(puzzles.get(index % puzzles.size()), index);
+        successCounters.attempted++;
+        if (answer != null) successCounters.solved++;
+        return answer;
+    }
+}
@@ -1,14 +1,93 @@
 package com.khaleghzadegan;
 
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.BatchSolveService;
 import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.PuzzleArchiveService;
+import com.khaleghzadegan.logic.service.PuzzleGeneratorService;
 import com.khaleghzadegan.ui.service.UserInterfaceService;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 public class App {
 
     public static void main(String[] args) {
-        UserInterfaceService userInterfaceService = UserInterfaceService.build();
+        SolverStrategy solverStrategy = getSolverStrategy(args);
+        GamePlayService gamePlayService = GamePlayService.build(solverStrategy);
+        UserInterfaceService userInterfaceService;
+        int batchIndex = indexOf(args, "--batch");
+        int serverIndex = indexOf(args, "--server");
+        int generateIndex = indexOf(args, "--generate");
+        int toArchiveIndex = indexOf(args, "--to-archive");
+        int toTextIndex = indexOf(args, "--to-text");
+        if (toArchiveIndex >= 0 || toTextIndex >= 0) {
+            int convertIndex = Math.max(toArchiveIndex, toTextIndex);
+            if (convertIndex + 2 >= args.length)
+                throw new InvalidInputException("Usage: --to-archive|--to-text <input file> <output file>");
+            userInterfaceService = UserInterfaceService.buildArchive(PuzzleArchiveService.build(),
+                    toArchiveIndex >= 0, Path.of(args[convertIndex + 1]), Path.of(args[convertIndex + 2]));
+        } else if (generateIndex >= 0) {
+            if (generateIndex + 3 >= args.length)
+                throw new InvalidInputException("Usage: --generate <count> <givens count> <output file>");
+            GridGeometry geometry = GridGeometry.of(Integer.parseInt(getOption(args, "--size", "9")));
+            userInterfaceService = UserInterfaceService.buildGenerator(
+                    PuzzleGeneratorService.build(getThreadsCount(args), getSeed(args)), geometry,
+                    Integer.parseInt(args[generateIndex + 2]), Long.parseLong(args[generateIndex + 1]),
+                    Path.of(args[generateIndex + 3]));
+        } else if (serverIndex >= 0) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int port = Integer.parseInt(getOption(args, "--port", "8080"));
+            int concurrency = Integer.parseInt(getOption(args, "--concurrency", Integer.toString(cores)));
+            int queueCapacity = Integer.parseInt(getOption(args, "--queue", Integer.toString(16 * concurrency)));
+            Duration timeout = Duration.ofMillis(Long.parseLong(getOption(args, "--timeout-millis", "10000")));
+            userInterfaceService = UserInterfaceService.buildServer(gamePlayService, port, concurrency,
+                    queueCapacity, timeout);
+        } else if (batchIndex >= 0) {
+            if (batchIndex + 2 >= args.length)
+                throw new InvalidInputException("Usage: --batch <input file> <output file>");
+            BatchSolveService batchSolveService = BatchSolveService.build(gamePlayService, getThreadsCount(args),
+                    getSeed(args));
+            userInterfaceService = UserInterfaceService.buildBatch(batchSolveService,
+                    Path.of(args[batchIndex + 1]), Path.of(args[batchIndex + 2]));
+        } else {
+            userInterfaceService = UserInterfaceService.build(gamePlayService);
+        }
         userInterfaceService.initializeUserInterface();
     }
 
+    private static SolverStrategy getSolverStrategy(String[] args) {
+        String strategy = getOption(args, "--strategy", SolverStrategy.GENETIC.name());
+        try {
+            return SolverStrategy.valueOf(strategy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Unknown solver strategy: " + strategy, e);
+        }
+    }
 
+    private static int getThreadsCount(String[] args) {
+        return Integer.parseInt(getOption(args, "--threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+    }
+
+    private static long getSeed(String[] args) {
+        long seed = Long.parseLong(getOption(args, "--seed", Long.toString(SeededRandom.newSeed())));
+        System.out.println("Seed: " + seed);
+        return seed;
+    }
+
+    private static String getOption(String[] args, String name, String defaultValue) {
+        int index = indexOf(args, name);
+        return index >= 0 && index + 1 < args.length ? args[index + 1] : defaultValue;
+    }
+
+    private static int indexOf(String[] args, String name) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(name)) return i;
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,59 @@
+package com.khaleghzadegan.logic.model;
+
+public class BatchSolveSummary {
+
+    private final long solvedCount;
+    private final long invalidCount;
+    private final long gaveUpCount;
+    private final long noSolutionCount;
+    private final long elapsedNanos;
+
+    public BatchSolveSummary(long solvedCount, long invalidCount, long gaveUpCount, long noSolutionCount,
+                             long elapsedNanos) {
+        this.solvedCount = solvedCount;
+        this.invalidCount = invalidCount;
+        this.gaveUpCount = gaveUpCount;
+        this.noSolutionCount = noSolutionCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getSolvedCount() {
+        return solvedCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    public long getGaveUpCount() {
+        return gaveUpCount;
+    }
+
+    public long getNoSolutionCount() {
+        return noSolutionCount;
+    }
+
+    public long getPuzzlesCount() {
+        return solvedCount + invalidCount + gaveUpCount + noSolutionCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getPuzzlesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getPuzzlesCount() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSolveSummary{" +
+                "solvedCount=" + solvedCount +
+                ", invalidCount=" + invalidCount +
+                ", gaveUpCount=" + gaveUpCount +
+                ", noSolutionCount=" + noSolutionCount +
+                ", elapsedNanos=" + elapsedNanos +
+                ", puzzlesPerSecond=" + String.format("%.1f", getPuzzlesPerSecond()) +
+                '}';
+    }
+}
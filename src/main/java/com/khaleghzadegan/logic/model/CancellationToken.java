@@ -0,0 +1,48 @@
+package com.khaleghzadegan.logic.model;
+
+import java.time.Duration;
+
+/**
+ * Cooperative cancellation flag polled by the solvers' inner loops. A token created with a parent also reports
+ * cancellation once its parent is cancelled, and a token created with a timeout once its deadline has passed.
+ */
+public class CancellationToken {
+
+    public static final CancellationToken NONE = new CancellationToken() {
+        @Override
+        public void cancel() {
+            throw new UnsupportedOperationException("The NONE token can not be cancelled!");
+        }
+    };
+
+    private final CancellationToken parent;
+    private final boolean deadlineSet;
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    public CancellationToken() {
+        this(null);
+    }
+
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+        this.deadlineSet = false;
+        this.deadlineNanos = 0;
+    }
+
+    public CancellationToken(CancellationToken parent, Duration timeout) {
+        this.parent = parent;
+        this.deadlineSet = true;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled
+                || (deadlineSet && System.nanoTime() - deadlineNanos >= 0)
+                || (parent != null && parent.isCancelled());
+    }
+}
@@ -0,0 +1,12 @@
+package com.khaleghzadegan.logic.model;
+
+public enum EncodingStrategy {
+    /**
+     * Any digit in any changeable cell; every operator is followed by a repair pass.
+     */
+    DIGITS,
+    /**
+     * Every row is a permutation of its missing digits, kept valid by swap mutation and whole-row crossover.
+     */
+    ROW_PERMUTATIONS
+}
@@ -0,0 +1,61 @@
+package com.khaleghzadegan.logic.model;
+
+public class GenerationStatistics {
+
+    private final int islandIndex;
+    private final long generation;
+    private final int bestFitnessValue;
+    private final double meanFitnessValue;
+    private final double diversity;
+    private final double generationsPerSecond;
+
+    public GenerationStatistics(int islandIndex, long generation, int bestFitnessValue, double meanFitnessValue,
+                                double diversity, double generationsPerSecond) {
+        this.islandIndex = islandIndex;
+        this.generation = generation;
+        this.bestFitnessValue = bestFitnessValue;
+        this.meanFitnessValue = meanFitnessValue;
+        this.diversity = diversity;
+        this.generationsPerSecond = generationsPerSecond;
+    }
+
+    public int getIslandIndex() {
+        return islandIndex;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getBestFitnessValue() {
+        return bestFitnessValue;
+    }
+
+    public double getMeanFitnessValue() {
+        return meanFitnessValue;
+    }
+
+    /**
+     * Mean share of individuals whose value differs from the most common value of a changeable cell:
+     * 0 when the whole population is identical.
+     */
+    public double getDiversity() {
+        return diversity;
+    }
+
+    public double getGenerationsPerSecond() {
+        return generationsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationStatistics{" +
+                "islandIndex=" + islandIndex +
+                ", generation=" + generation +
+                ", bestFitnessValue=" + bestFitnessValue +
+                ", meanFitnessValue=" + meanFitnessValue +
+                ", diversity=" + diversity +
+                ", generationsPerSecond=" + generationsPerSecond +
+                '}';
+    }
+}
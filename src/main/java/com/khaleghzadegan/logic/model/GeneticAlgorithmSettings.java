@@ -0,0 +1,303 @@
+package com.khaleghzadegan.logic.model;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public class GeneticAlgorithmSettings {
+
+    public static final int DEFAULT_POPULATION_COUNT = 180;
+    public static final int DEFAULT_ITERATION_COUNT = 100_000;
+    public static final int DEFAULT_ISLAND_COUNT = 1;
+    public static final int DEFAULT_MIGRATION_INTERVAL = 50;
+    public static final int DEFAULT_MIGRANT_COUNT = 5;
+    public static final int DEFAULT_TOURNAMENT_SIZE = 2;
+    public static final double DEFAULT_MUTATION_RATE = 0.2;
+    public static final double DEFAULT_CROSSOVER_RATE = 0.8;
+    public static final int DEFAULT_STAGNATION_PATIENCE = 100;
+    public static final int MIN_STAGNATION_PATIENCE = 50;
+    public static final int MAX_STAGNATION_PATIENCE = 5_000;
+    public static final int DEFAULT_LOCAL_SEARCH_INTERVAL = 10;
+    public static final int DEFAULT_LOCAL_SEARCH_INDIVIDUALS_COUNT = 5;
+    public static final int DEFAULT_LOCAL_SEARCH_STEPS = 500;
+    public static final Duration DEFAULT_CHECKPOINT_INTERVAL = Duration.ofSeconds(30);
+
+    private int populationCount = DEFAULT_POPULATION_COUNT;
+    private int iterationCount = DEFAULT_ITERATION_COUNT;
+    private int islandCount = DEFAULT_ISLAND_COUNT;
+    private int migrationInterval = DEFAULT_MIGRATION_INTERVAL;
+    private int migrantCount = DEFAULT_MIGRANT_COUNT;
+    private Long seed;
+    private boolean constraintPropagationEnabled = true;
+    private SelectionStrategy selectionStrategy = SelectionStrategy.TRUNCATION;
+    private int tournamentSize = DEFAULT_TOURNAMENT_SIZE;
+    private double mutationRate = DEFAULT_MUTATION_RATE;
+    private double crossoverRate = DEFAULT_CROSSOVER_RATE;
+    private boolean adaptiveControlEnabled;
+    private int stagnationPatience = DEFAULT_STAGNATION_PATIENCE;
+    private EncodingStrategy encodingStrategy = EncodingStrategy.DIGITS;
+    private LocalSearchStrategy localSearchStrategy = LocalSearchStrategy.NONE;
+    private int localSearchInterval = DEFAULT_LOCAL_SEARCH_INTERVAL;
+    private int localSearchIndividualsCount = DEFAULT_LOCAL_SEARCH_INDIVIDUALS_COUNT;
+    private int localSearchSteps = DEFAULT_LOCAL_SEARCH_STEPS;
+    private boolean cloneReplacementEnabled;
+    private Path checkpointPath;
+    private Duration checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+    public GeneticAlgorithmSettings() {
+    }
+
+    public GeneticAlgorithmSettings(GeneticAlgorithmSettings settings) {
+        populationCount = settings.getPopulationCount();
+        iterationCount = settings.getIterationCount();
+        islandCount = settings.getIslandCount();
+        migrationInterval = settings.getMigrationInterval();
+        migrantCount = settings.getMigrantCount();
+        seed = settings.getSeed();
+        constraintPropagationEnabled = settings.isConstraintPropagationEnabled();
+        selectionStrategy = settings.getSelectionStrategy();
+        tournamentSize = settings.getTournamentSize();
+        mutationRate = settings.getMutationRate();
+        crossoverRate = settings.getCrossoverRate();
+        adaptiveControlEnabled = settings.isAdaptiveControlEnabled();
+        stagnationPatience = settings.getStagnationPatience();
+        encodingStrategy = settings.getEncodingStrategy();
+        localSearchStrategy = settings.getLocalSearchStrategy();
+        localSearchInterval = settings.getLocalSearchInterval();
+        localSearchIndividualsCount = settings.getLocalSearchIndividualsCount();
+        localSearchSteps = settings.getLocalSearchSteps();
+        cloneReplacementEnabled = settings.isCloneReplacementEnabled();
+        checkpointPath = settings.getCheckpointPath();
+        checkpointInterval = settings.getCheckpointInterval();
+    }
+
+    public int getPopulationCount() {
+        return populationCount;
+    }
+
+    public void setPopulationCount(int populationCount) {
+        this.populationCount = populationCount;
+    }
+
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+    public void setIterationCount(int iterationCount) {
+        this.iterationCount = iterationCount;
+    }
+
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    public void setIslandCount(int islandCount) {
+        this.islandCount = islandCount;
+    }
+
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public void setMigrationInterval(int migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    public int getMigrantCount() {
+        return migrantCount;
+    }
+
+    public void setMigrantCount(int migrantCount) {
+        this.migrantCount = migrantCount;
+    }
+
+    /**
+     * Seed every solve starts from; when {@code null} a fresh seed is drawn (and logged) for each solve.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public boolean isConstraintPropagationEnabled() {
+        return constraintPropagationEnabled;
+    }
+
+    public void setConstraintPropagationEnabled(boolean constraintPropagationEnabled) {
+        this.constraintPropagationEnabled = constraintPropagationEnabled;
+    }
+
+    public SelectionStrategy getSelectionStrategy() {
+        return selectionStrategy;
+    }
+
+    public void setSelectionStrategy(SelectionStrategy selectionStrategy) {
+        this.selectionStrategy = selectionStrategy;
+    }
+
+    /**
+     * Candidates per tournament, only used by {@link SelectionStrategy#TOURNAMENT}.
+     */
+    public int getTournamentSize() {
+        return tournamentSize;
+    }
+
+    public void setTournamentSize(int tournamentSize) {
+        this.tournamentSize = tournamentSize;
+    }
+
+    /**
+     * Probability of replacing each changeable cell with a random digit, or with {@link EncodingStrategy#ROW_PERMUTATIONS}
+     * of swapping two changeable cells in each row.
+     */
+    public double getMutationRate() {
+        return mutationRate;
+    }
+
+    public void setMutationRate(double mutationRate) {
+        this.mutationRate = mutationRate;
+    }
+
+    /**
+     * Probability of copying each row from the neighbouring individual.
+     */
+    public double getCrossoverRate() {
+        return crossoverRate;
+    }
+
+    public void setCrossoverRate(double crossoverRate) {
+        this.crossoverRate = crossoverRate;
+    }
+
+    /**
+     * When enabled, operator rates and restarts follow stagnation and diversity instead of the fixed rates and the
+     * given-count based reset point.
+     */
+    public boolean isAdaptiveControlEnabled() {
+        return adaptiveControlEnabled;
+    }
+
+    public void setAdaptiveControlEnabled(boolean adaptiveControlEnabled) {
+        this.adaptiveControlEnabled = adaptiveControlEnabled;
+    }
+
+    /**
+     * Generations without improvement before the first adaptive restart, between {@link #MIN_STAGNATION_PATIENCE}
+     * and {@link #MAX_STAGNATION_PATIENCE}; later restarts adjust it within the same bounds.
+     */
+    public int getStagnationPatience() {
+        return stagnationPatience;
+    }
+
+    public void setStagnationPatience(int stagnationPatience) {
+        this.stagnationPatience = stagnationPatience;
+    }
+
+    public EncodingStrategy getEncodingStrategy() {
+        return encodingStrategy;
+    }
+
+    public void setEncodingStrategy(EncodingStrategy encodingStrategy) {
+        this.encodingStrategy = encodingStrategy;
+    }
+
+    /**
+     * Local search refining the fittest individuals of an island every {@link #getLocalSearchInterval()} generations.
+     */
+    public LocalSearchStrategy getLocalSearchStrategy() {
+        return localSearchStrategy;
+    }
+
+    public void setLocalSearchStrategy(LocalSearchStrategy localSearchStrategy) {
+        this.localSearchStrategy = localSearchStrategy;
+    }
+
+    public int getLocalSearchInterval() {
+        return localSearchInterval;
+    }
+
+    public void setLocalSearchInterval(int localSearchInterval) {
+        this.localSearchInterval = localSearchInterval;
+    }
+
+    public int getLocalSearchIndividualsCount() {
+        return localSearchIndividualsCount;
+    }
+
+    public void setLocalSearchIndividualsCount(int localSearchIndividualsCount) {
+        this.localSearchIndividualsCount = localSearchIndividualsCount;
+    }
+
+    /**
+     * Swaps tried on each refined individual.
+     */
+    public int getLocalSearchSteps() {
+        return localSearchSteps;
+    }
+
+    public void setLocalSearchSteps(int localSearchSteps) {
+        this.localSearchSteps = localSearchSteps;
+    }
+
+    /**
+     * When enabled, every individual selected as an exact copy of another one is replaced by a random individual.
+     */
+    public boolean isCloneReplacementEnabled() {
+        return cloneReplacementEnabled;
+    }
+
+    public void setCloneReplacementEnabled(boolean cloneReplacementEnabled) {
+        this.cloneReplacementEnabled = cloneReplacementEnabled;
+    }
+
+    /**
+     * File the genetic search is periodically saved to, so that it can be resumed; {@code null} disables saving.
+     */
+    public Path getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    public void setCheckpointPath(Path checkpointPath) {
+        this.checkpointPath = checkpointPath;
+    }
+
+    /**
+     * Minimum time between two checkpoints; they are only taken between migration intervals.
+     */
+    public Duration getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(Duration checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "GeneticAlgorithmSettings{" +
+                "populationCount=" + populationCount +
+                ", iterationCount=" + iterationCount +
+                ", islandCount=" + islandCount +
+                ", migrationInterval=" + migrationInterval +
+                ", migrantCount=" + migrantCount +
+                ", seed=" + seed +
+                ", constraintPropagationEnabled=" + constraintPropagationEnabled +
+                ", selectionStrategy=" + selectionStrategy +
+                ", tournamentSize=" + tournamentSize +
+                ", mutationRate=" + mutationRate +
+                ", crossoverRate=" + crossoverRate +
+                ", adaptiveControlEnabled=" + adaptiveControlEnabled +
+                ", stagnationPatience=" + stagnationPatience +
+                ", encodingStrategy=" + encodingStrategy +
+                ", localSearchStrategy=" + localSearchStrategy +
+                ", localSearchInterval=" + localSearchInterval +
+                ", localSearchIndividualsCount=" + localSearchIndividualsCount +
+                ", localSearchSteps=" + localSearchSteps +
+                ", cloneReplacementEnabled=" + cloneReplacementEnabled +
+                ", checkpointPath=" + checkpointPath +
+                ", checkpointInterval=" + checkpointInterval +
+                '}';
+    }
+}
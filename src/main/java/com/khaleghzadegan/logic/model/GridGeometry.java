@@ -0,0 +1,193 @@
+package com.khaleghzadegan.logic.model;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.random.SeededRandom;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shape of an N×N board: box dimensions, unit tables and the derived fitness goal. Boxes are as square as the size
+ * allows (3×3 for 9, 4×4 for 16, 2×3 for 6). Values are 1..N and displayed with the symbols {@code 1-9} then
+ * {@code A-U}. Instances are shared per size and immutable.
+ */
+public final class GridGeometry {
+
+    public static final int MAX_SIZE = 30;
+    private static final String SYMBOLS = "123456789ABCDEFGHIJKLMNOPQRSTU";
+    private static final ConcurrentMap<Integer, GridGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+    public static final GridGeometry STANDARD = of(SudokuGrid.GAME_BOUNDARY);
+
+    private final int size;
+    private final int boxRows;
+    private final int boxColumns;
+    private final int cellCount;
+    private final int unitCount;
+    private final int maxFitnessValue;
+    private final int allValuesMask;
+    private final int[][] rows;
+    private final int[][] columns;
+    private final int[][] boxes;
+    private final int[][] allUnits;
+    private final int[] cellRowUnit;
+    private final int[] cellColumnUnit;
+    private final int[] cellBoxUnit;
+    private final long[] zobristKeys;
+
+    private GridGeometry(int size, int boxRows) {
+        this.size = size;
+        this.boxRows = boxRows;
+        this.boxColumns = size / boxRows;
+        this.cellCount = size * size;
+        this.unitCount = 3 * size;
+        this.maxFitnessValue = unitCount * size * (size - 1) / 2;
+        this.allValuesMask = ((1 << size) - 1) << 1;
+        this.rows = new int[size][size];
+        this.columns = new int[size][size];
+        this.boxes = new int[size][size];
+        this.allUnits = new int[unitCount][];
+        this.cellRowUnit = new int[cellCount];
+        this.cellColumnUnit = new int[cellCount];
+        this.cellBoxUnit = new int[cellCount];
+        // box i spans box rows (i / boxRows) and box columns (i % boxRows); cell j runs row-major inside the box
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                rows[i][j] = i * size + j;
+                columns[i][j] = j * size + i;
+                int row = (i / boxRows) * boxRows + j / boxColumns;
+                int column = (i % boxRows) * boxColumns + j % boxColumns;
+                boxes[i][j] = row * size + column;
+                cellRowUnit[rows[i][j]] = i;
+                cellColumnUnit[columns[i][j]] = size + i;
+                cellBoxUnit[boxes[i][j]] = 2 * size + i;
+            }
+            allUnits[i] = rows[i];
+            allUnits[size + i] = columns[i];
+            allUnits[2 * size + i] = boxes[i];
+        }
+        // seeded by the size, so equal boards hash equally in every run
+        SeededRandom random = new SeededRandom(size);
+        this.zobristKeys = new long[cellCount * (size + 1)];
+        for (int i = 0; i < zobristKeys.length; i++) {
+            zobristKeys[i] = random.nextLong();
+        }
+    }
+
+    public static GridGeometry of(int size) {
+        if (size < 4 || size > MAX_SIZE)
+            throw new InvalidInputException("Board size must be between 4 and " + MAX_SIZE + "!");
+        int boxRows = (int) Math.sqrt(size);
+        while (size % boxRows != 0) boxRows--;
+        if (boxRows == 1)
+            throw new InvalidInputException("Board size " + size + " can not be split into boxes!");
+        int subSquareRows = boxRows;
+        return GEOMETRIES.computeIfAbsent(size, key -> new GridGeometry(size, subSquareRows));
+    }
+
+    public static GridGeometry ofCellCount(int cellCount) {
+        int size = (int) Math.round(Math.sqrt(cellCount));
+        if (size * size != cellCount)
+            throw new InvalidInputException("Cell count " + cellCount + " is not a square board!");
+        return of(size);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getBoxRows() {
+        return boxRows;
+    }
+
+    public int getBoxColumns() {
+        return boxColumns;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    /**
+     * Fitness of a solved board: the number of cell pairs sharing a unit, none of which may repeat a value.
+     */
+    public int getMaxFitnessValue() {
+        return maxFitnessValue;
+    }
+
+    /**
+     * Bits 1..N set, one per value.
+     */
+    public int getAllValuesMask() {
+        return allValuesMask;
+    }
+
+    public int[][] getRows() {
+        return rows;
+    }
+
+    public int[][] getColumns() {
+        return columns;
+    }
+
+    public int[][] getBoxes() {
+        return boxes;
+    }
+
+    public int[][] getAllUnits() {
+        return allUnits;
+    }
+
+    public int getRowUnit(int cellIndex) {
+        return cellRowUnit[cellIndex];
+    }
+
+    public int getColumnUnit(int cellIndex) {
+        return cellColumnUnit[cellIndex];
+    }
+
+    public int getBoxUnit(int cellIndex) {
+        return cellBoxUnit[cellIndex];
+    }
+
+    /**
+     * Random key of a value (0 for empty) in a cell; a board hashes to the xor of the keys of all its cells.
+     */
+    public long getZobristKey(int cellIndex, int cellValue) {
+        return zobristKeys[cellIndex * (size + 1) + cellValue];
+    }
+
+    int[] getCellRowUnits() {
+        return cellRowUnit;
+    }
+
+    int[] getCellColumnUnits() {
+        return cellColumnUnit;
+    }
+
+    int[] getCellBoxUnits() {
+        return cellBoxUnit;
+    }
+
+    public char toSymbol(int value) {
+        return value == 0 ? '.' : SYMBOLS.charAt(value - 1);
+    }
+
+    /**
+     * Value of a symbol, 0 for the blanks {@code '.'} and {@code '0'}, or -1 when it is not a symbol of this size.
+     */
+    public int toValue(char symbol) {
+        if (symbol == '.' || symbol == '0') return 0;
+        int index = SYMBOLS.indexOf(Character.toUpperCase(symbol));
+        return index >= 0 && index < size ? index + 1 : -1;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size + " (" + boxRows + "x" + boxColumns + " boxes)";
+    }
+}
@@ -0,0 +1,70 @@
+package com.khaleghzadegan.logic.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in microseconds. Buckets double in width every {@value #SUB_BUCKETS} buckets, so a
+ * reported percentile is at most 1/{@value #SUB_BUCKETS} above the true value.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+
+    public void record(long nanos) {
+        counts.incrementAndGet(getBucket(Math.max(0, nanos / 1_000)));
+        totalCount.increment();
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Upper bound in microseconds of the bucket holding the given percentile (0..100), or 0 when nothing was recorded.
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return getUpperBound(i);
+        }
+        return getUpperBound(BUCKETS - 1);
+    }
+
+    public String toJson() {
+        return "{\"count\":" + getCount()
+                + ",\"p50\":" + getPercentileMicros(50)
+                + ",\"p90\":" + getPercentileMicros(90)
+                + ",\"p99\":" + getPercentileMicros(99)
+                + ",\"p999\":" + getPercentileMicros(99.9)
+                + ",\"max\":" + getPercentileMicros(100) + "}";
+    }
+
+    private static int getBucket(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
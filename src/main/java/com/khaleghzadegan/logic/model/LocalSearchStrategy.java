@@ -0,0 +1,13 @@
+package com.khaleghzadegan.logic.model;
+
+public enum LocalSearchStrategy {
+    NONE,
+    /**
+     * Random swaps within rows, worsening ones accepted with a probability that cools over the steps.
+     */
+    SIMULATED_ANNEALING,
+    /**
+     * The best of a sample of swaps within rows, recently swapped cells left alone unless that beats the best so far.
+     */
+    TABU
+}
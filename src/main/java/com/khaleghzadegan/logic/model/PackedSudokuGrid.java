@@ -0,0 +1,269 @@
+package com.khaleghzadegan.logic.model;
+
+import com.khaleghzadegan.logic.exception.FixedCellChangeNotAllowedException;
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+
+/**
+ * Compact board used by the solver: one byte per cell plus a fixed-cell bitmask.
+ * Copies share the bitmask of the blueprint they were created from.
+ * <p>
+ * Every board also keeps how often each value occurs in each row, column and sub-square, together with the
+ * number of equal-valued cell pairs inside units, so its fitness is known after every change without rescanning.
+ * A 64-bit Zobrist hash of the cell values is maintained the same way, to spot clones and unchanged boards cheaply.
+ * <p>
+ * The board size comes from its {@link GridGeometry}; the static constants describe the standard 9×9 board.
+ */
+public class PackedSudokuGrid {
+
+
+    private final GridGeometry geometry;
+    private final int valueRange;
+    private final byte[] cellValues;
+    private long[] fixedCellMask;
+    private final byte[] unitValueCounts;
+    private int repeatedPairsCount;
+    private int gridFitnessValue;
+    private long zobristHash;
+    private long evaluatedHash;
+    private boolean evaluated;
+
+    public PackedSudokuGrid(byte[] cellValues, long[] fixedCellMask) {
+        this(GridGeometry.ofCellCount(cellValues.length), cellValues, fixedCellMask);
+    }
+
+    public PackedSudokuGrid(GridGeometry geometry, byte[] cellValues, long[] fixedCellMask) {
+        if (cellValues.length != geometry.getCellCount())
+            throw new InvalidInputException("A " + geometry + " board needs " + geometry.getCellCount() + " cells!");
+        this.geometry = geometry;
+        this.valueRange = geometry.getSize() + 1;
+        this.cellValues = cellValues;
+        this.fixedCellMask = fixedCellMask;
+        this.unitValueCounts = new byte[geometry.getUnitCount() * valueRange];
+        for (int i = 0; i < cellValues.length; i++) {
+            addToUnits(i, cellValues[i]);
+            zobristHash ^= geometry.getZobristKey(i, cellValues[i]);
+        }
+    }
+
+    public PackedSudokuGrid(PackedSudokuGrid packedSudokuGrid) {
+        geometry = packedSudokuGrid.geometry;
+        valueRange = packedSudokuGrid.valueRange;
+        cellValues = packedSudokuGrid.cellValues.clone();
+        fixedCellMask = packedSudokuGrid.fixedCellMask;
+        unitValueCounts = packedSudokuGrid.unitValueCounts.clone();
+        repeatedPairsCount = packedSudokuGrid.repeatedPairsCount;
+        gridFitnessValue = packedSudokuGrid.gridFitnessValue;
+        zobristHash = packedSudokuGrid.zobristHash;
+        evaluatedHash = packedSudokuGrid.evaluatedHash;
+        evaluated = packedSudokuGrid.evaluated;
+    }
+
+    public static PackedSudokuGrid from(SudokuGrid sudokuGrid) {
+        final var gridCells = sudokuGrid.getGridCells();
+        GridGeometry geometry = GridGeometry.of(sudokuGrid.getSize());
+        byte[] cellValues = new byte[geometry.getCellCount()];
+        long[] fixedCellMask = new long[(cellValues.length + 63) / 64];
+        for (int i = 0; i < geometry.getSize(); i++) {
+            for (int j = 0; j < geometry.getSize(); j++) {
+                int cellIndex = i * geometry.getSize() + j;
+                Integer value = gridCells[i][j].getCellValue();
+                cellValues[cellIndex] = (byte) (value == null ? 0 : value);
+                if (gridCells[i][j].getCellType() == GridCell.CellType.FIXED)
+                    fixedCellMask[cellIndex >>> 6] |= 1L << cellIndex;
+            }
+        }
+        PackedSudokuGrid packedSudokuGrid = new PackedSudokuGrid(geometry, cellValues, fixedCellMask);
+        packedSudokuGrid.setGridFitnessValue(sudokuGrid.getGridFitnessValue());
+        return packedSudokuGrid;
+    }
+
+    /**
+     * Parses the common one-line format: N×N characters in row-major order, symbols for givens and
+     * {@code '.'} or {@code '0'} for blanks. The board size follows from the line length, e.g. 81 or 256.
+     */
+    public static PackedSudokuGrid fromLine(CharSequence line) {
+        GridGeometry geometry = GridGeometry.ofCellCount(line.length());
+        byte[] cellValues = new byte[geometry.getCellCount()];
+        long[] fixedCellMask = new long[(cellValues.length + 63) / 64];
+        for (int i = 0; i < cellValues.length; i++) {
+            char c = line.charAt(i);
+            int value = geometry.toValue(c);
+            if (value < 0)
+                throw new InvalidInputException("Invalid puzzle character '" + c + "' at position " + i + "!");
+            if (value > 0) {
+                cellValues[i] = (byte) value;
+                fixedCellMask[i >>> 6] |= 1L << i;
+            }
+        }
+        return new PackedSudokuGrid(geometry, cellValues, fixedCellMask);
+    }
+
+    public SudokuGrid toSudokuGrid() {
+        SudokuGrid sudokuGrid = new SudokuGrid(geometry.getSize());
+        final var gridCells = sudokuGrid.getGridCells();
+        for (int i = 0; i < geometry.getSize(); i++) {
+            for (int j = 0; j < geometry.getSize(); j++) {
+                int cellIndex = i * geometry.getSize() + j;
+                var cellType = isFixed(cellIndex) ? GridCell.CellType.FIXED : GridCell.CellType.CHANGEABLE;
+                gridCells[i][j] = new GridCell((int) cellValues[cellIndex], cellType);
+            }
+        }
+        sudokuGrid.setGridFitnessValue(gridFitnessValue);
+        return sudokuGrid;
+    }
+
+    public int getCellValue(int cellIndex) {
+        return cellValues[cellIndex];
+    }
+
+    public int getCellValue(int row, int column) {
+        return cellValues[row * geometry.getSize() + column];
+    }
+
+    public void setCellValue(int cellIndex, int cellValue) {
+        if (isFixed(cellIndex))
+            throw new FixedCellChangeNotAllowedException("Cell value is fixed and can not be changed!");
+        updateCellValue(cellIndex, cellValue);
+    }
+
+    private void updateCellValue(int cellIndex, int cellValue) {
+        int previousValue = cellValues[cellIndex];
+        if (previousValue == cellValue) return;
+        removeFromUnits(cellIndex, previousValue);
+        addToUnits(cellIndex, cellValue);
+        zobristHash ^= geometry.getZobristKey(cellIndex, previousValue) ^ geometry.getZobristKey(cellIndex, cellValue);
+        cellValues[cellIndex] = (byte) cellValue;
+    }
+
+    private void addToUnits(int cellIndex, int cellValue) {
+        repeatedPairsCount += unitValueCounts[geometry.getRowUnit(cellIndex) * valueRange + cellValue]++;
+        repeatedPairsCount += unitValueCounts[geometry.getColumnUnit(cellIndex) * valueRange + cellValue]++;
+        repeatedPairsCount += unitValueCounts[geometry.getBoxUnit(cellIndex) * valueRange + cellValue]++;
+    }
+
+    private void removeFromUnits(int cellIndex, int cellValue) {
+        repeatedPairsCount -= --unitValueCounts[geometry.getRowUnit(cellIndex) * valueRange + cellValue];
+        repeatedPairsCount -= --unitValueCounts[geometry.getColumnUnit(cellIndex) * valueRange + cellValue];
+        repeatedPairsCount -= --unitValueCounts[geometry.getBoxUnit(cellIndex) * valueRange + cellValue];
+    }
+
+    public int getValueCountInUnit(int unitIndex, int cellValue) {
+        return unitValueCounts[unitIndex * valueRange + cellValue];
+    }
+
+    /**
+     * Number of cell pairs sharing a row, column or sub-square that hold the same value.
+     */
+    public int getRepeatedPairsCount() {
+        return repeatedPairsCount;
+    }
+
+    public void setCellValue(int row, int column, int cellValue) {
+        setCellValue(row * geometry.getSize() + column, cellValue);
+    }
+
+    public boolean isFixed(int cellIndex) {
+        return (fixedCellMask[cellIndex >>> 6] & (1L << cellIndex)) != 0;
+    }
+
+    public boolean isFixed(int row, int column) {
+        return isFixed(row * geometry.getSize() + column);
+    }
+
+    public void copyFrom(PackedSudokuGrid packedSudokuGrid) {
+        System.arraycopy(packedSudokuGrid.cellValues, 0, cellValues, 0, cellValues.length);
+        System.arraycopy(packedSudokuGrid.unitValueCounts, 0, unitValueCounts, 0, unitValueCounts.length);
+        repeatedPairsCount = packedSudokuGrid.repeatedPairsCount;
+        gridFitnessValue = packedSudokuGrid.gridFitnessValue;
+        zobristHash = packedSudokuGrid.zobristHash;
+        evaluatedHash = packedSudokuGrid.evaluatedHash;
+        evaluated = packedSudokuGrid.evaluated;
+    }
+
+    // turns the board back into an empty blueprint for decoders that reuse it; the fixed-cell mask is replaced rather
+    // than cleared, since copies of the previous puzzle may still be in use and share it
+    void clearBlueprint() {
+        for (int i = 0; i < cellValues.length; i++) {
+            updateCellValue(i, 0);
+        }
+        fixedCellMask = new long[fixedCellMask.length];
+        setGridFitnessValue(0);
+    }
+
+    void setGivenValue(int cellIndex, int cellValue) {
+        updateCellValue(cellIndex, cellValue);
+        fixedCellMask[cellIndex >>> 6] |= 1L << cellIndex;
+    }
+
+    public void copyRowFrom(PackedSudokuGrid packedSudokuGrid, int row) {
+        for (int cellIndex : geometry.getRows()[row]) {
+            updateCellValue(cellIndex, packedSudokuGrid.cellValues[cellIndex]);
+        }
+    }
+
+    public GridGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getCellCount() {
+        return cellValues.length;
+    }
+
+    public int getMaxFitnessValue() {
+        return geometry.getMaxFitnessValue();
+    }
+
+    public long[] getFixedCellMask() {
+        return fixedCellMask;
+    }
+
+    public int getGridFitnessValue() {
+        return gridFitnessValue;
+    }
+
+    public void setGridFitnessValue(int gridFitnessValue) {
+        this.gridFitnessValue = gridFitnessValue;
+        this.evaluated = false;
+    }
+
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Remembers the current cell values and fitness value as final for the solver's repair and scoring, until the
+     * fitness value is set again; copies carry the mark along.
+     */
+    public void markEvaluated() {
+        evaluatedHash = zobristHash;
+        evaluated = true;
+    }
+
+    /**
+     * True when the cells hold the same values as at the last {@link #markEvaluated()}.
+     */
+    public boolean isUnchangedSinceEvaluation() {
+        return evaluated && evaluatedHash == zobristHash;
+    }
+
+    /**
+     * Number of cell pairs inside the given unit that hold the same value.
+     */
+    public int getRepeatedPairsCountInUnit(int unitIndex) {
+        int pairsCount = 0;
+        for (int cellValue = 1; cellValue < valueRange; cellValue++) {
+            int valueCount = unitValueCounts[unitIndex * valueRange + cellValue];
+            pairsCount += valueCount * (valueCount - 1) / 2;
+        }
+        return pairsCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder(cellValues.length);
+        for (byte cellValue : cellValues) {
+            stringBuilder.append(geometry.toSymbol(cellValue));
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.khaleghzadegan.logic.model;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a binary puzzle archive. The file is a 32-byte little-endian header followed by
+ * fixed-size records, so record {@code i} starts at {@code HEADER_BYTES + i * recordBytes} and needs no index:
+ * <pre>
+ * 0  int   magic "SDKB"          8  long  record count
+ * 4  short version               16 int   record bytes
+ * 6  byte  board size            20 ..31  reserved
+ * 7  byte  flags (1: solutions)
+ * </pre>
+ * A record packs the puzzle cells, then the solution cells when the archive has solutions, row-major and
+ * lowest bits first, in the fewest bits holding the board size (4 for 9×9, 5 up to 30×30); 0 is an empty cell and
+ * an all-empty solution an unsolved puzzle.
+ * <p>
+ * Cell values are read straight from the mapping, so scanning allocates nothing per record. Files larger than
+ * 2 GiB are mapped in several segments. Instances are immutable and safe to share between threads.
+ */
+public final class PuzzleArchive {
+
+    public static final int MAGIC = 0x424B4453;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int SOLUTIONS_FLAG = 1;
+
+    private final GridGeometry geometry;
+    private final long count;
+    private final boolean solutions;
+    private final int bitsPerCell;
+    private final int cellMask;
+    private final int recordBytes;
+    private final long recordsPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    private PuzzleArchive(GridGeometry geometry, long count, boolean solutions, int recordBytes,
+                          MappedByteBuffer[] segments, long recordsPerSegment) {
+        this.geometry = geometry;
+        this.count = count;
+        this.solutions = solutions;
+        this.bitsPerCell = getBitsPerCell(geometry);
+        this.cellMask = (1 << bitsPerCell) - 1;
+        this.recordBytes = recordBytes;
+        this.recordsPerSegment = recordsPerSegment;
+        this.segments = segments;
+    }
+
+    public static PuzzleArchive open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC)
+                throw new IOException(path + " is not a puzzle archive!");
+            if (header.getShort() != VERSION)
+                throw new IOException(path + " was written by another version of the archive format!");
+            GridGeometry geometry;
+            try {
+                geometry = GridGeometry.of(header.get());
+            } catch (InvalidInputException e) {
+                throw new IOException(path + " has an unsupported board size!", e);
+            }
+            boolean solutions = (header.get() & SOLUTIONS_FLAG) != 0;
+            long count = header.getLong();
+            int recordBytes = header.getInt();
+            if (recordBytes != getRecordBytes(geometry, solutions) || count < 0
+                    || channel.size() < HEADER_BYTES + count * recordBytes)
+                throw new IOException(path + " is truncated or corrupted!");
+
+            long recordsPerSegment = Integer.MAX_VALUE / recordBytes;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((count + recordsPerSegment - 1) / recordsPerSegment)];
+            for (int i = 0; i < segments.length; i++) {
+                long firstRecord = i * recordsPerSegment;
+                long recordsCount = Math.min(recordsPerSegment, count - firstRecord);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + firstRecord * recordBytes,
+                        recordsCount * recordBytes);
+            }
+            return new PuzzleArchive(geometry, count, solutions, recordBytes, segments, recordsPerSegment);
+        }
+    }
+
+    /**
+     * Whether the file starts with the archive magic number, so callers can accept text and archives alike.
+     */
+    public static boolean isArchive(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) return false;
+            }
+            return magic.flip().getInt() == MAGIC;
+        }
+    }
+
+    static int getBitsPerCell(GridGeometry geometry) {
+        return 32 - Integer.numberOfLeadingZeros(geometry.getSize());
+    }
+
+    static int getRecordBytes(GridGeometry geometry, boolean solutions) {
+        long bits = (long) geometry.getCellCount() * getBitsPerCell(geometry) * (solutions ? 2 : 1);
+        return (int) ((bits + 7) / 8);
+    }
+
+    public GridGeometry getGeometry() {
+        return geometry;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean hasSolutions() {
+        return solutions;
+    }
+
+    public int getCellValue(long record, int cellIndex) {
+        return readCell(record, cellIndex);
+    }
+
+    /**
+     * Solution value of a cell, 0 when the archive has no solutions or the puzzle was not solved.
+     */
+    public int getSolutionCellValue(long record, int cellIndex) {
+        return solutions ? readCell(record, geometry.getCellCount() + cellIndex) : 0;
+    }
+
+    public boolean isSolved(long record) {
+        return getSolutionCellValue(record, 0) != 0;
+    }
+
+    /**
+     * Copies the puzzle cells of a record into a caller-owned buffer of at least the cell count.
+     */
+    public void readCellValues(long record, byte[] cellValues) {
+        for (int i = 0; i < geometry.getCellCount(); i++) {
+            cellValues[i] = (byte) readCell(record, i);
+        }
+    }
+
+    public PackedSudokuGrid getPuzzle(long record) {
+        PackedSudokuGrid puzzle = new PackedSudokuGrid(geometry, new byte[geometry.getCellCount()],
+                new long[(geometry.getCellCount() + 63) / 64]);
+        readPuzzle(record, puzzle);
+        return puzzle;
+    }
+
+    /**
+     * Decodes the puzzle of a record into a caller-owned board of the archive's geometry, replacing its cells and
+     * givens, so a scan can reuse one board instead of allocating one per record.
+     */
+    public void readPuzzle(long record, PackedSudokuGrid puzzle) {
+        if (puzzle.getGeometry() != geometry)
+            throw new InvalidInputException("Archive holds " + geometry + " boards only!");
+        puzzle.clearBlueprint();
+        for (int i = 0; i < geometry.getCellCount(); i++) {
+            int cellValue = readCell(record, i);
+            if (cellValue != 0) puzzle.setGivenValue(i, cellValue);
+        }
+    }
+
+    /**
+     * The solution of a record with the givens of its puzzle fixed, or {@code null} when it was not solved.
+     */
+    public PackedSudokuGrid getSolution(long record) {
+        if (!isSolved(record)) return null;
+        PackedSudokuGrid solution = new PackedSudokuGrid(getPuzzle(record));
+        for (int i = 0; i < geometry.getCellCount(); i++) {
+            if (!solution.isFixed(i))
+                solution.setCellValue(i, getSolutionCellValue(record, i));
+        }
+        return solution;
+    }
+
+    // a cell spans at most two bytes; the second one is only read when it belongs to the same record
+    private int readCell(long record, int cell) {
+        if (record < 0 || record >= count)
+            throw new IndexOutOfBoundsException("Record " + record + " of " + count);
+        MappedByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        int bitOffset = cell * bitsPerCell;
+        int recordOffset = (int) (record % recordsPerSegment) * recordBytes;
+        int byteOffset = bitOffset >>> 3;
+        int bits = segment.get(recordOffset + byteOffset) & 0xFF;
+        if (byteOffset + 1 < recordBytes)
+            bits |= (segment.get(recordOffset + byteOffset + 1) & 0xFF) << 8;
+        return (bits >>> (bitOffset & 7)) & cellMask;
+    }
+}
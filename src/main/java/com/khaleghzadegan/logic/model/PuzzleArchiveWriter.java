@@ -0,0 +1,131 @@
+package com.khaleghzadegan.logic.model;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Appends records to a new {@link PuzzleArchive} file through one reused buffer. Records go to a sibling temporary
+ * file that {@link #finish()} completes and moves over the target; closing an unfinished writer deletes it, so a
+ * failed conversion leaves no archive behind. Not thread-safe.
+ */
+public final class PuzzleArchiveWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Path path;
+    private final Path temporaryPath;
+    private final FileChannel channel;
+    private final GridGeometry geometry;
+    private final boolean solutions;
+    private final int bitsPerCell;
+    private final byte[] record;
+    private final ByteBuffer buffer;
+    private long count;
+
+    public PuzzleArchiveWriter(Path path, GridGeometry geometry, boolean solutions) throws IOException {
+        this.geometry = geometry;
+        this.solutions = solutions;
+        this.bitsPerCell = PuzzleArchive.getBitsPerCell(geometry);
+        this.record = new byte[PuzzleArchive.getRecordBytes(geometry, solutions)];
+        this.buffer = ByteBuffer.allocate(Math.max(BUFFER_BYTES, record.length)).order(ByteOrder.LITTLE_ENDIAN);
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public void write(PackedSudokuGrid puzzle) throws IOException {
+        write(puzzle, null);
+    }
+
+    /**
+     * Appends a puzzle and, when the archive has solutions, its solution; {@code null} records it as unsolved.
+     */
+    public void write(PackedSudokuGrid puzzle, PackedSudokuGrid solution) throws IOException {
+        if (puzzle.getGeometry() != geometry || (solution != null && solution.getGeometry() != geometry))
+            throw new InvalidInputException("Archive holds " + geometry + " boards only!");
+        if (solution != null && !solutions)
+            throw new InvalidInputException("Archive was created without solutions!");
+        Arrays.fill(record, (byte) 0);
+        for (int i = 0; i < geometry.getCellCount(); i++) {
+            writeCell(i, puzzle.getCellValue(i));
+        }
+        if (solution != null) {
+            for (int i = 0; i < geometry.getCellCount(); i++) {
+                writeCell(geometry.getCellCount() + i, solution.getCellValue(i));
+            }
+        }
+        if (buffer.remaining() < record.length) flush();
+        buffer.put(record);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void finish() throws IOException {
+        flush();
+        writeHeader();
+        channel.force(false);
+        channel.close();
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) return;
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private void writeCell(int cell, int cellValue) {
+        int bitOffset = cell * bitsPerCell;
+        int bits = cellValue << (bitOffset & 7);
+        record[bitOffset >>> 3] |= (byte) bits;
+        if ((bits >>> 8) != 0)
+            record[(bitOffset >>> 3) + 1] |= (byte) (bits >>> 8);
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PuzzleArchive.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(PuzzleArchive.MAGIC)
+                .putShort((short) PuzzleArchive.VERSION)
+                .put((byte) geometry.getSize())
+                .put((byte) (solutions ? PuzzleArchive.SOLUTIONS_FLAG : 0))
+                .putLong(count)
+                .putInt(record.length);
+        header.position(PuzzleArchive.HEADER_BYTES).flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        long position = PuzzleArchive.HEADER_BYTES + (count - buffer.remaining() / record.length) * record.length;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package com.khaleghzadegan.logic.model;
+
+/**
+ * Outcome of one solve. An unsolved result may still carry the fittest individual the engine reached, whose
+ * fitness tells how close it came; engines without partial candidates leave it {@code null}.
+ */
+public class SolveResult {
+
+    private final SolveStatus solveStatus;
+    private final PackedSudokuGrid sudokuGrid;
+    private final long elapsedNanos;
+
+    public SolveResult(SolveStatus solveStatus, PackedSudokuGrid sudokuGrid, long elapsedNanos) {
+        this.solveStatus = solveStatus;
+        this.sudokuGrid = sudokuGrid;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public SolveStatus getSolveStatus() {
+        return solveStatus;
+    }
+
+    public boolean isSolved() {
+        return solveStatus == SolveStatus.SOLVED;
+    }
+
+    public PackedSudokuGrid getSudokuGrid() {
+        return sudokuGrid;
+    }
+
+    public int getFitnessValue() {
+        return sudokuGrid == null ? 0 : sudokuGrid.getGridFitnessValue();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveResult{" +
+                "solveStatus=" + solveStatus +
+                ", sudokuGrid=" + sudokuGrid +
+                ", fitnessValue=" + getFitnessValue() +
+                ", elapsedNanos=" + elapsedNanos +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.khaleghzadegan.logic.model;
+
+public enum SolveStatus {
+    SOLVED,
+    INVALID,
+    /**
+     * The search stopped, cancelled or out of budget, without finding a solution; there may still be one.
+     */
+    GAVE_UP,
+    /**
+     * An exact search finished without finding a solution, which proves there is none.
+     */
+    NO_SOLUTION;
+
+    /**
+     * Whether no other engine or a longer run could change the outcome.
+     */
+    public boolean isConclusive() {
+        return this != GAVE_UP;
+    }
+}
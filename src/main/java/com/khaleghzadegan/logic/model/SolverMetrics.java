@@ -0,0 +1,197 @@
+package com.khaleghzadegan.logic.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative counters of one solver instance, cheap enough to update from the solver threads at all times.
+ */
+public class SolverMetrics {
+
+    public enum Operator {
+        REMOVE_REPETITION,
+        FITNESS_EVALUATION,
+        CROSSOVER,
+        MUTATION,
+        SELECTION,
+        LOCAL_SEARCH
+    }
+
+    private final LongAdder solveCalls = new LongAdder();
+    private final LongAdder solvedCount = new LongAdder();
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder migrations = new LongAdder();
+    private final LongAdder fitnessEvaluations = new LongAdder();
+    private final LongAdder evaluationsSkipped = new LongAdder();
+    private final LongAdder selectedIndividuals = new LongAdder();
+    private final LongAdder selectedClones = new LongAdder();
+    private final LongAdder individualsAllocated = new LongAdder();
+    private final LongAdder allocationsAvoided = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder cacheEvictions = new LongAdder();
+    private final LongAdder[] operatorNanos = new LongAdder[Operator.values().length];
+
+    public SolverMetrics() {
+        for (int i = 0; i < operatorNanos.length; i++) {
+            operatorNanos[i] = new LongAdder();
+        }
+    }
+
+    public void recordSolveCall(boolean solved) {
+        solveCalls.increment();
+        if (solved) solvedCount.increment();
+    }
+
+    public void recordGeneration() {
+        generations.increment();
+    }
+
+    public void recordReset() {
+        resets.increment();
+    }
+
+    public void recordMigration() {
+        migrations.increment();
+    }
+
+    public void recordFitnessEvaluations(long count) {
+        fitnessEvaluations.add(count);
+    }
+
+    /**
+     * Individuals whose cells had not changed since they were last repaired and scored.
+     */
+    public void recordEvaluationsSkipped(long count) {
+        evaluationsSkipped.add(count);
+    }
+
+    /**
+     * One selection of {@code selectedCount} individuals, {@code clonesCount} of which duplicated another one.
+     */
+    public void recordSelection(long selectedCount, long clonesCount) {
+        selectedIndividuals.add(selectedCount);
+        selectedClones.add(clonesCount);
+    }
+
+    public void recordIndividualsAllocated(long count) {
+        individualsAllocated.add(count);
+    }
+
+    /**
+     * Individuals overwritten in place where a new one would otherwise have been allocated.
+     */
+    public void recordAllocationsAvoided(long count) {
+        allocationsAvoided.add(count);
+    }
+
+    public void recordCacheLookup(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    public void recordCacheEviction() {
+        cacheEvictions.increment();
+    }
+
+    public void recordOperatorNanos(Operator operator, long nanos) {
+        operatorNanos[operator.ordinal()].add(nanos);
+    }
+
+    public long getSolveCalls() {
+        return solveCalls.sum();
+    }
+
+    public long getSolvedCount() {
+        return solvedCount.sum();
+    }
+
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    public long getResets() {
+        return resets.sum();
+    }
+
+    public long getMigrations() {
+        return migrations.sum();
+    }
+
+    public long getFitnessEvaluations() {
+        return fitnessEvaluations.sum();
+    }
+
+    public long getEvaluationsSkipped() {
+        return evaluationsSkipped.sum();
+    }
+
+    public long getSelectedIndividuals() {
+        return selectedIndividuals.sum();
+    }
+
+    public long getSelectedClones() {
+        return selectedClones.sum();
+    }
+
+    /**
+     * Share of selected individuals that were clones of another one in the same generation.
+     */
+    public double getDuplicateRate() {
+        long selected = getSelectedIndividuals();
+        return selected == 0 ? 0 : (double) getSelectedClones() / selected;
+    }
+
+    public long getIndividualsAllocated() {
+        return individualsAllocated.sum();
+    }
+
+    public long getAllocationsAvoided() {
+        return allocationsAvoided.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getCacheEvictions() {
+        return cacheEvictions.sum();
+    }
+
+    public long getOperatorNanos(Operator operator) {
+        return operatorNanos[operator.ordinal()].sum();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"solveCalls\":").append(getSolveCalls());
+        json.append(",\"solvedCount\":").append(getSolvedCount());
+        json.append(",\"generations\":").append(getGenerations());
+        json.append(",\"resets\":").append(getResets());
+        json.append(",\"migrations\":").append(getMigrations());
+        json.append(",\"fitnessEvaluations\":").append(getFitnessEvaluations());
+        json.append(",\"evaluationsSkipped\":").append(getEvaluationsSkipped());
+        json.append(",\"selectedIndividuals\":").append(getSelectedIndividuals());
+        json.append(",\"selectedClones\":").append(getSelectedClones());
+        json.append(",\"duplicateRate\":").append(getDuplicateRate());
+        json.append(",\"individualsAllocated\":").append(getIndividualsAllocated());
+        json.append(",\"allocationsAvoided\":").append(getAllocationsAvoided());
+        json.append(",\"cacheHits\":").append(getCacheHits());
+        json.append(",\"cacheMisses\":").append(getCacheMisses());
+        json.append(",\"cacheEvictions\":").append(getCacheEvictions());
+        json.append(",\"operatorNanos\":{");
+        for (Operator operator : Operator.values()) {
+            if (operator.ordinal() > 0) json.append(',');
+            json.append('"').append(operator.name()).append("\":").append(getOperatorNanos(operator));
+        }
+        return json.append("}}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SolverMetrics" + toJson();
+    }
+}
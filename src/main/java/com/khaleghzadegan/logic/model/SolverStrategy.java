@@ -0,0 +1,7 @@
+package com.khaleghzadegan.logic.model;
+
+public enum SolverStrategy {
+    GENETIC,
+    BACKTRACKING,
+    PORTFOLIO
+}
@@ -7,15 +7,20 @@ public class SudokuGrid {
     private Integer gridFitnessValue;
 
     public SudokuGrid() {
+        this(GAME_BOUNDARY);
+    }
+
+    public SudokuGrid(int size) {
         gridFitnessValue = 0;
-        gridCells = new GridCell[GAME_BOUNDARY][GAME_BOUNDARY];
+        gridCells = new GridCell[size][size];
     }
 
     public SudokuGrid(SudokuGrid sudokuGrid) {
         gridFitnessValue = sudokuGrid.getGridFitnessValue();
-        gridCells = new GridCell[GAME_BOUNDARY][GAME_BOUNDARY];
-        for (int i = 0; i < GAME_BOUNDARY; i++)
-            for (int j = 0; j < GAME_BOUNDARY; j++) {
+        int size = sudokuGrid.getSize();
+        gridCells = new GridCell[size][size];
+        for (int i = 0; i < size; i++)
+            for (int j = 0; j < size; j++) {
                 var cell = sudokuGrid.getGridCells()[i][j];
                 gridCells[i][j] = new GridCell(cell);
             }
@@ -30,6 +35,10 @@ public class SudokuGrid {
         this.gridFitnessValue = gridFitnessValue;
     }
 
+    public int getSize() {
+        return gridCells.length;
+    }
+
     public GridCell[][] getGridCells() {
         return gridCells;
     }
@@ -0,0 +1,83 @@
+package com.khaleghzadegan.logic.random;
+
+import java.security.SecureRandom;
+
+/**
+ * Small, unsynchronized xoroshiro128++ generator. Every solver worker owns its own instance, derived from one
+ * seed with {@link #split()}, so workers never contend on a shared generator and a run can be replayed from its seed.
+ */
+public class SeededRandom {
+
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+    private long state0;
+    private long state1;
+
+    public SeededRandom(long seed) {
+        long mixedSeed = seed;
+        state0 = mix(mixedSeed += 0x9E3779B97F4A7C15L);
+        state1 = mix(mixedSeed + 0x9E3779B97F4A7C15L);
+    }
+
+    public SeededRandom(long state0, long state1) {
+        this.state0 = state0;
+        this.state1 = state1;
+    }
+
+    public static long newSeed() {
+        return SEED_SOURCE.nextLong();
+    }
+
+    public long nextLong() {
+        final long s0 = state0;
+        long s1 = state1;
+        final long result = Long.rotateLeft(s0 + s1, 17) + s0;
+        s1 ^= s0;
+        state0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+        state1 = Long.rotateLeft(s1, 28);
+        return result;
+    }
+
+    public int nextInt(int bound) {
+        long product = (nextLong() >>> 32) * bound;
+        int low = (int) product;
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            int threshold = Integer.remainderUnsigned(-bound, bound);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (nextLong() >>> 32) * bound;
+                low = (int) product;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public SeededRandom split() {
+        return new SeededRandom(nextLong());
+    }
+
+    public long getState0() {
+        return state0;
+    }
+
+    public long getState1() {
+        return state1;
+    }
+
+    /**
+     * Continues from a state saved with {@link #getState0()} and {@link #getState1()}.
+     */
+    public void setState(long state0, long state1) {
+        this.state0 = state0;
+        this.state1 = state1;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,26 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.BatchSolveSummary;
+import com.khaleghzadegan.logic.service.impl.BatchSolveServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface BatchSolveService {
+
+    /**
+     * Solves every puzzle line of {@code input} and writes one result line per puzzle to {@code output}, in input
+     * order: {@code puzzle,solution,status,micros}, with an empty solution unless the status is SOLVED.
+     */
+    BatchSolveSummary solve(Path input, Path output) throws IOException;
+
+    /**
+     * Like {@link #solve(Path, Path)} for a {@link com.khaleghzadegan.logic.model.PuzzleArchive}: writes an archive
+     * with solutions holding the records of {@code input} in order, invalid and unsolved puzzles without solution.
+     */
+    BatchSolveSummary solveArchive(Path input, Path output) throws IOException;
+
+    static BatchSolveService build(GamePlayService gamePlayService, int threadsCount, long seed) {
+        return new BatchSolveServiceImpl(gamePlayService, threadsCount, seed);
+    }
+}
@@ -0,0 +1,17 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.impl.ConstraintPropagationServiceImpl;
+
+public interface ConstraintPropagationService {
+
+    /**
+     * Returns a copy of the blueprint in which every logically forced cell is filled in and marked fixed,
+     * or {@code null} when propagation proves that the blueprint has no solution.
+     */
+    PackedSudokuGrid propagate(PackedSudokuGrid blueprintSudokuGrid);
+
+    static ConstraintPropagationService build() {
+        return new ConstraintPropagationServiceImpl();
+    }
+}
@@ -1,25 +1,68 @@
 package com.khaleghzadegan.logic.service;
 
-import com.khaleghzadegan.logic.model.SudokuGrid;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
 import com.khaleghzadegan.logic.service.impl.GameOperationsServiceImpl;
 
-import java.util.List;
-
 public interface GameOperationsService {
 
-    void removeRepetition(SudokuGrid sudokuGrid);
+    void removeRepetition(PackedSudokuGrid sudokuGrid);
+
+    void calculateAndUpdateFitnessValue(PackedSudokuGrid sudokuGrid);
+
+    void performUniformRowWiseCrossover(PackedSudokuGrid sudokuGrid1, PackedSudokuGrid sudokuGrid2);
+
+    void performBitWiseMutation(PackedSudokuGrid sudokuGrid);
 
-    void calculateAndUpdateFitnessValue(SudokuGrid sudokuGrid);
+    /**
+     * Refills the changeable cells of every row with a random permutation of the digits that row is missing.
+     */
+    void generateRowPermutations(PackedSudokuGrid sudokuGrid);
 
-    void performUniformRowWiseCrossover(SudokuGrid sudokuGrid1, SudokuGrid sudokuGrid2);
+    /**
+     * At the crossover rate, exchanges each row between the two individuals with even odds, so rows stay permutations.
+     */
+    void performRowExchangeCrossover(PackedSudokuGrid sudokuGrid1, PackedSudokuGrid sudokuGrid2);
 
-    void performBitWiseMutation(SudokuGrid sudokuGrid);
+    /**
+     * Swaps two changeable cells within each row at the mutation rate, so rows stay permutations.
+     */
+    void performSwapMutation(PackedSudokuGrid sudokuGrid);
 
-    List<SudokuGrid> performElitismAndGetNextGeneration(List<SudokuGrid> populationBeforeCrossover,
-                                                        List<SudokuGrid> populationAfterMutation);
+    /**
+     * Refines the individual with the configured {@link com.khaleghzadegan.logic.model.LocalSearchStrategy}, swapping
+     * changeable cells within rows so that either encoding stays valid, and updates its fitness value. Ends on the
+     * fittest state it visited; does nothing when local search is disabled.
+     */
+    void performLocalSearch(PackedSudokuGrid sudokuGrid);
+
+    /**
+     * Fills {@code nextGeneration} from both populations using the configured {@link SelectionService}.
+     */
+    void performSelection(PackedSudokuGrid[] populationBeforeCrossover, PackedSudokuGrid[] populationAfterMutation,
+                          PackedSudokuGrid[] nextGeneration);
 
     static GameOperationsService build() {
         return new GameOperationsServiceImpl();
     }
 
+    static GameOperationsService build(SeededRandom random) {
+        return new GameOperationsServiceImpl(random);
+    }
+
+    double getMutationRate();
+
+    void setMutationRate(double mutationRate);
+
+    double getCrossoverRate();
+
+    void setCrossoverRate(double crossoverRate);
+
+    static GameOperationsService build(GeneticAlgorithmSettings settings, SeededRandom random) {
+        return new GameOperationsServiceImpl(random, SelectionService.build(settings, random),
+                settings.getMutationRate(), settings.getCrossoverRate(), settings.getLocalSearchStrategy(),
+                settings.getLocalSearchSteps());
+    }
+
 }
@@ -1,15 +1,127 @@
 package com.khaleghzadegan.logic.service;
 
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolverMetrics;
+import com.khaleghzadegan.logic.model.SolverStrategy;
 import com.khaleghzadegan.logic.model.SudokuGrid;
+import com.khaleghzadegan.logic.service.impl.BacktrackingGamePlayServiceImpl;
+import com.khaleghzadegan.logic.service.impl.CachingGamePlayServiceImpl;
 import com.khaleghzadegan.logic.service.impl.GamePlayServiceImpl;
+import com.khaleghzadegan.logic.service.impl.PortfolioGamePlayServiceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface GamePlayService {
 
-    boolean validateBlueprint(SudokuGrid blueprintSudokuGrid);
+    boolean validateBlueprint(PackedSudokuGrid blueprintSudokuGrid);
+
+    /**
+     * Counts the solutions of the blueprint with an exact search that stops once {@code limit} are found, whatever
+     * the engine; clashing givens count as no solution. A limit of 2 tells unique puzzles from ambiguous ones.
+     */
+    int countSolutions(PackedSudokuGrid blueprintSudokuGrid, int limit);
+
+    default boolean hasUniqueSolution(PackedSudokuGrid blueprintSudokuGrid) {
+        return countSolutions(blueprintSudokuGrid, 2) == 1;
+    }
+
+    /**
+     * Returns a solved copy of the blueprint, or {@code null} when none was found or the token was cancelled.
+     * Only the exact {@link SolverStrategy#BACKTRACKING} engine guarantees that {@code null} from an uncancelled
+     * run means the puzzle has no solution.
+     */
+    PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, CancellationToken cancellationToken);
+
+    /**
+     * Solves with every random decision derived from {@code seed}, so a run can be replayed exactly.
+     */
+    PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken);
+
+    /**
+     * Like {@link #tryToSolve(PackedSudokuGrid, long, CancellationToken)}, but an unsolved result carries the fittest
+     * individual reached before the token was cancelled or the engine gave up.
+     */
+    SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken);
+
+    /**
+     * Solves with the seed of {@link #newSeed(PackedSudokuGrid)}.
+     */
+    SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, CancellationToken cancellationToken);
+
+    /**
+     * Seed of a solve the caller did not seed: the one of {@link GeneticAlgorithmSettings#getSeed()} when configured,
+     * otherwise a fresh one logged with the blueprint, so that every solve can be replayed. All unseeded entry points
+     * draw their seed here.
+     */
+    long newSeed(PackedSudokuGrid blueprintSudokuGrid);
+
+    /**
+     * Solves on a shared pool of daemon threads. The deadline starts counting at this call, so queueing time is part
+     * of the budget; once it passes, the future completes with the best-effort result. Cancelling the future stops
+     * the solve at its next cancellation check.
+     */
+    CompletableFuture<SolveResult> solveAsync(PackedSudokuGrid blueprintSudokuGrid, Duration timeout);
+
+    CompletableFuture<SolveResult> solveAsync(PackedSudokuGrid blueprintSudokuGrid, Duration timeout, Executor executor);
+
+    default PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid) {
+        return tryToSolve(blueprintSudokuGrid, CancellationToken.NONE);
+    }
+
+    default PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, long seed) {
+        return tryToSolve(blueprintSudokuGrid, seed, CancellationToken.NONE);
+    }
 
-    SudokuGrid tryToSolve(SudokuGrid blueprintSudokuGrid);
+    void addSolverProgressListener(SolverProgressListener solverProgressListener);
+
+    void removeSolverProgressListener(SolverProgressListener solverProgressListener);
+
+    SolverMetrics getSolverMetrics();
+
+    default boolean validateBlueprint(SudokuGrid blueprintSudokuGrid) {
+        return validateBlueprint(PackedSudokuGrid.from(blueprintSudokuGrid));
+    }
+
+    default SudokuGrid tryToSolve(SudokuGrid blueprintSudokuGrid) {
+        PackedSudokuGrid answer = tryToSolve(PackedSudokuGrid.from(blueprintSudokuGrid));
+        return answer == null ? null : answer.toSudokuGrid();
+    }
 
     static GamePlayService build() {
         return new GamePlayServiceImpl();
     }
+
+    static GamePlayService build(GeneticAlgorithmSettings settings) {
+        return new GamePlayServiceImpl(settings);
+    }
+
+    static GamePlayService build(SolverStrategy solverStrategy) {
+        return switch (solverStrategy) {
+            case GENETIC -> new GamePlayServiceImpl();
+            case BACKTRACKING -> new BacktrackingGamePlayServiceImpl();
+            case PORTFOLIO -> new PortfolioGamePlayServiceImpl(
+                    List.of(new BacktrackingGamePlayServiceImpl(), new GamePlayServiceImpl()));
+        };
+    }
+
+    /**
+     * Races the given engines on every puzzle, returning the first answer and cancelling the rest.
+     */
+    static GamePlayService buildPortfolio(List<GamePlayService> gamePlayServices) {
+        return new PortfolioGamePlayServiceImpl(gamePlayServices);
+    }
+
+    /**
+     * Puts a cache of solved puzzles, up to the given estimated size, in front of the engine. Puzzles equal up to
+     * relabeling, band, stack, row and column swaps, transposition or rotation share one entry.
+     */
+    static GamePlayService buildCaching(GamePlayService gamePlayService, long maximumBytes) {
+        return new CachingGamePlayServiceImpl(gamePlayService, maximumBytes);
+    }
 }
@@ -0,0 +1,30 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.PuzzleArchive;
+import com.khaleghzadegan.logic.service.impl.PuzzleArchiveServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Converts between puzzle text files and {@link PuzzleArchive} files.
+ */
+public interface PuzzleArchiveService {
+
+    /**
+     * Packs every puzzle line of {@code textInput} into a new archive and returns the number of puzzles. When any
+     * line is a batch output line, {@code puzzle,solution,...}, the archive keeps solutions and bare puzzle lines are
+     * stored as unsolved; the board size is the one of the first puzzle.
+     */
+    long toArchive(Path textInput, Path archiveOutput) throws IOException;
+
+    /**
+     * Writes one line per record of the archive: the puzzle, followed by {@code ,solution} when the archive has
+     * solutions, with an empty solution for unsolved puzzles.
+     */
+    long toText(Path archiveInput, Path textOutput) throws IOException;
+
+    static PuzzleArchiveService build() {
+        return new PuzzleArchiveServiceImpl();
+    }
+}
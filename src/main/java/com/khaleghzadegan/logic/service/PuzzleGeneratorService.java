@@ -0,0 +1,27 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.impl.PuzzleGeneratorServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface PuzzleGeneratorService {
+
+    /**
+     * Returns a puzzle with exactly {@code givensCount} givens and a unique solution, derived from {@code seed}
+     * alone, or {@code null} when no attempt got down to that many givens.
+     */
+    PackedSudokuGrid generate(GridGeometry geometry, int givensCount, long seed);
+
+    /**
+     * Generates {@code count} puzzles on all threads and writes one puzzle line each to {@code output}, in the order
+     * of their seeds; returns how many were written, fewer when some targets could not be reached.
+     */
+    long generate(GridGeometry geometry, int givensCount, long count, Path output) throws IOException;
+
+    static PuzzleGeneratorService build(int threadsCount, long seed) {
+        return new PuzzleGeneratorServiceImpl(threadsCount, seed);
+    }
+}
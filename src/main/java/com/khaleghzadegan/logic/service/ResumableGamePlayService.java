@@ -0,0 +1,25 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.service.impl.GamePlayServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Genetic engine whose searches, saved under {@link GeneticAlgorithmSettings#getCheckpointPath()}, can be continued.
+ */
+public interface ResumableGamePlayService extends GamePlayService {
+
+    /**
+     * Continues a search from its checkpoint exactly as if it had never stopped, provided the settings that shape
+     * the search are the same.
+     */
+    SolveResult resume(Path checkpointPath, CancellationToken cancellationToken) throws IOException;
+
+    static ResumableGamePlayService build(GeneticAlgorithmSettings settings) {
+        return new GamePlayServiceImpl(settings);
+    }
+}
@@ -0,0 +1,30 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.impl.RankSelectionServiceImpl;
+import com.khaleghzadegan.logic.service.impl.TournamentSelectionServiceImpl;
+import com.khaleghzadegan.logic.service.impl.TruncationSelectionServiceImpl;
+
+public interface SelectionService {
+
+    /**
+     * Fills {@code nextGeneration} with in-place copies of individuals picked from both populations. The three arrays
+     * must hold distinct individuals; implementations reuse internal buffers and are not thread-safe.
+     */
+    void select(PackedSudokuGrid[] populationBeforeCrossover, PackedSudokuGrid[] populationAfterMutation,
+                PackedSudokuGrid[] nextGeneration);
+
+    static SelectionService build() {
+        return new TruncationSelectionServiceImpl();
+    }
+
+    static SelectionService build(GeneticAlgorithmSettings settings, SeededRandom random) {
+        return switch (settings.getSelectionStrategy()) {
+            case TRUNCATION -> new TruncationSelectionServiceImpl();
+            case TOURNAMENT -> new TournamentSelectionServiceImpl(settings.getTournamentSize(), random);
+            case RANK -> new RankSelectionServiceImpl(random);
+        };
+    }
+}
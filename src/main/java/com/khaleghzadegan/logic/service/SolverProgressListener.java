@@ -0,0 +1,19 @@
+package com.khaleghzadegan.logic.service;
+
+import com.khaleghzadegan.logic.model.GenerationStatistics;
+
+/**
+ * Per-generation telemetry of the genetic solver. With several islands the callbacks arrive concurrently from the
+ * island threads, so implementations must be thread-safe. Statistics are only computed while a listener is attached.
+ */
+public interface SolverProgressListener {
+
+    default void onGeneration(GenerationStatistics generationStatistics) {
+    }
+
+    default void onReset(int islandIndex, long generation, int bestFitnessValue) {
+    }
+
+    default void onSolved(int islandIndex, long generation) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.model.SolverMetrics;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.SolverProgressListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntUnaryOperator;
+
+public abstract class AbstractGamePlayService implements GamePlayService {
+
+    private static final System.Logger LOGGER = System.getLogger(AbstractGamePlayService.class.getName());
+
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "async-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // screening runs millions of searches, so each thread keeps reusing the arrays of one search
+    private static final ThreadLocal<BitmaskSearch> COUNTING_SEARCH = ThreadLocal.withInitial(BitmaskSearch::new);
+
+    protected final SolverMetrics solverMetrics = new SolverMetrics();
+    protected final List<SolverProgressListener> solverProgressListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void addSolverProgressListener(SolverProgressListener solverProgressListener) {
+        solverProgressListeners.add(solverProgressListener);
+    }
+
+    @Override
+    public void removeSolverProgressListener(SolverProgressListener solverProgressListener) {
+        solverProgressListeners.remove(solverProgressListener);
+    }
+
+    @Override
+    public SolverMetrics getSolverMetrics() {
+        return solverMetrics;
+    }
+
+    @Override
+    public int countSolutions(PackedSudokuGrid blueprintSudokuGrid, int limit) {
+        if (limit < 1)
+            throw new InvalidInputException("Solutions limit must be positive!");
+        BitmaskSearch bitmaskSearch = COUNTING_SEARCH.get();
+        return bitmaskSearch.load(blueprintSudokuGrid) ? bitmaskSearch.countSolutions(limit) : 0;
+    }
+
+    @Override
+    public PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, CancellationToken cancellationToken) {
+        return tryToSolve(blueprintSudokuGrid, newSeed(blueprintSudokuGrid), cancellationToken);
+    }
+
+    @Override
+    public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, CancellationToken cancellationToken) {
+        return solve(blueprintSudokuGrid, newSeed(blueprintSudokuGrid), cancellationToken);
+    }
+
+    // a configured seed is already known to the caller, so only drawn ones are logged, at DEBUG to stay off the hot path
+    @Override
+    public long newSeed(PackedSudokuGrid blueprintSudokuGrid) {
+        Long configuredSeed = getConfiguredSeed();
+        if (configuredSeed != null) return configuredSeed;
+        long seed = SeededRandom.newSeed();
+        LOGGER.log(System.Logger.Level.DEBUG, "Solving {0} with seed {1}", blueprintSudokuGrid, Long.toString(seed));
+        return seed;
+    }
+
+    /**
+     * Seed every unseeded solve starts from, or {@code null} to draw a fresh one each time.
+     */
+    protected Long getConfiguredSeed() {
+        return null;
+    }
+
+    // engines without partial candidates: the result carries the answer, or nothing
+    @Override
+    public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        long start = System.nanoTime();
+        if (!validateBlueprint(blueprintSudokuGrid))
+            return new SolveResult(SolveStatus.INVALID, null, System.nanoTime() - start);
+        PackedSudokuGrid answer = tryToSolve(blueprintSudokuGrid, seed, cancellationToken);
+        return new SolveResult(answer != null ? SolveStatus.SOLVED : SolveStatus.GAVE_UP, answer, System.nanoTime() - start);
+    }
+
+    @Override
+    public CompletableFuture<SolveResult> solveAsync(PackedSudokuGrid blueprintSudokuGrid, Duration timeout) {
+        return solveAsync(blueprintSudokuGrid, timeout, ASYNC_EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<SolveResult> solveAsync(PackedSudokuGrid blueprintSudokuGrid, Duration timeout, Executor executor) {
+        CancellationToken cancellationToken = new CancellationToken(null, timeout);
+        CompletableFuture<SolveResult> future = CompletableFuture.supplyAsync(
+                () -> solve(blueprintSudokuGrid, cancellationToken), executor);
+        future.whenComplete((solveResult, throwable) -> {
+            if (future.isCancelled()) cancellationToken.cancel();
+        });
+        return future;
+    }
+
+    // one bitmask of seen values per unit, so every unit costs O(N) instead of O(N²) pairwise compares
+    @Override
+    public boolean validateBlueprint(PackedSudokuGrid blueprintSudokuGrid) {
+        for (int[] unit : blueprintSudokuGrid.getGeometry().getAllUnits()) {
+            int seenValues = 0;
+            for (int cellIndex : unit) {
+                if (!blueprintSudokuGrid.isFixed(cellIndex)) continue;
+                int bit = 1 << blueprintSudokuGrid.getCellValue(cellIndex);
+                if ((seenValues & bit) != 0) return false;
+                seenValues |= bit;
+            }
+        }
+        return true;
+    }
+
+    // the answer keeps the caller's fixed cells, not the ones added by constraint propagation or search
+    protected PackedSudokuGrid getAnswerBasedOn(PackedSudokuGrid blueprintSudokuGrid, IntUnaryOperator solvedCellValues) {
+        PackedSudokuGrid answer = new PackedSudokuGrid(blueprintSudokuGrid);
+        for (int i = 0; i < answer.getCellCount(); i++) {
+            if (!answer.isFixed(i))
+                answer.setCellValue(i, solvedCellValues.applyAsInt(i));
+        }
+        answer.setGridFitnessValue(answer.getMaxFitnessValue());
+        return answer;
+    }
+
+    protected PackedSudokuGrid getBestEffortBasedOn(PackedSudokuGrid blueprintSudokuGrid, IntUnaryOperator cellValues) {
+        PackedSudokuGrid bestEffort = new PackedSudokuGrid(blueprintSudokuGrid);
+        for (int i = 0; i < bestEffort.getCellCount(); i++) {
+            if (!bestEffort.isFixed(i))
+                bestEffort.setCellValue(i, cellValues.applyAsInt(i));
+        }
+        bestEffort.setGridFitnessValue(bestEffort.getMaxFitnessValue() - bestEffort.getRepeatedPairsCount());
+        return bestEffort;
+    }
+}
@@ -0,0 +1,47 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.SelectionService;
+
+import java.util.Arrays;
+
+public abstract class AbstractSelectionService implements SelectionService {
+
+    private int[] fitnessOffsets = new int[0];
+    private PackedSudokuGrid[] sortedCandidates = new PackedSudokuGrid[0];
+
+    /**
+     * Stable counting sort of both populations by ascending fitness, linear in the number of individuals since
+     * fitness is bounded by the maximum fitness of the board size. The returned buffer is reused by the next call.
+     */
+    protected PackedSudokuGrid[] sortByFitness(PackedSudokuGrid[] populationBeforeCrossover,
+                                               PackedSudokuGrid[] populationAfterMutation) {
+        int candidatesCount = populationBeforeCrossover.length + populationAfterMutation.length;
+        if (sortedCandidates.length != candidatesCount)
+            sortedCandidates = new PackedSudokuGrid[candidatesCount];
+        int maxFitnessValue = populationBeforeCrossover[0].getMaxFitnessValue();
+        if (fitnessOffsets.length != maxFitnessValue + 2)
+            fitnessOffsets = new int[maxFitnessValue + 2];
+        Arrays.fill(fitnessOffsets, 0);
+        countFitnessValues(populationBeforeCrossover);
+        countFitnessValues(populationAfterMutation);
+        for (int i = 1; i < fitnessOffsets.length; i++) {
+            fitnessOffsets[i] += fitnessOffsets[i - 1];
+        }
+        placeByFitness(populationBeforeCrossover);
+        placeByFitness(populationAfterMutation);
+        return sortedCandidates;
+    }
+
+    private void countFitnessValues(PackedSudokuGrid[] population) {
+        for (var sudokuGrid : population) {
+            fitnessOffsets[sudokuGrid.getGridFitnessValue() + 1]++;
+        }
+    }
+
+    private void placeByFitness(PackedSudokuGrid[] population) {
+        for (var sudokuGrid : population) {
+            sortedCandidates[fitnessOffsets[sudokuGrid.getGridFitnessValue()]++] = sudokuGrid;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Tunes the operator rates and the restart trigger of one island at runtime. While the best fitness improves the
+ * rates drift back to their configured values; once the population stagnates and loses diversity, mutation is
+ * raised and crossover lowered. A restart is due after {@code patience} generations without improvement, and the
+ * patience itself grows when runs keep reaching new best fitness values and shrinks when they do not.
+ * One instance per island; not thread-safe.
+ */
+final class AdaptiveController {
+
+    private static final double MIN_MUTATION_RATE = 0.02;
+    private static final double MAX_MUTATION_RATE = 0.5;
+    private static final double MIN_CROSSOVER_RATE = 0.2;
+    private static final double RATE_STEP = 1.1;
+    private static final double LOW_DIVERSITY = 0.1;
+    private static final int DIVERSITY_SAMPLE_INTERVAL = 10;
+    private static final int MIN_PATIENCE = GeneticAlgorithmSettings.MIN_STAGNATION_PATIENCE;
+    private static final int MAX_PATIENCE = GeneticAlgorithmSettings.MAX_STAGNATION_PATIENCE;
+
+    private final double baseMutationRate;
+    private final double baseCrossoverRate;
+    private final DoubleSupplier diversitySupplier;
+    private double mutationRate;
+    private double crossoverRate;
+    private int patience;
+    private int bestFitnessValue;
+    private int overallBestFitnessValue;
+    private int stagnantGenerations;
+
+    AdaptiveController(double mutationRate, double crossoverRate, int patience, DoubleSupplier diversitySupplier) {
+        this.baseMutationRate = mutationRate;
+        this.baseCrossoverRate = crossoverRate;
+        this.diversitySupplier = diversitySupplier;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.patience = patience;
+    }
+
+    void onGeneration(int generationBestFitnessValue) {
+        if (generationBestFitnessValue > bestFitnessValue) {
+            bestFitnessValue = generationBestFitnessValue;
+            stagnantGenerations = 0;
+            mutationRate = Math.max(baseMutationRate, mutationRate / RATE_STEP);
+            crossoverRate = Math.min(baseCrossoverRate, crossoverRate * RATE_STEP);
+            return;
+        }
+        stagnantGenerations++;
+        // the bounds never move a rate against the direction of the step, whatever the configured rates
+        if (stagnantGenerations % DIVERSITY_SAMPLE_INTERVAL == 0 && diversitySupplier.getAsDouble() < LOW_DIVERSITY) {
+            mutationRate = Math.min(Math.max(MAX_MUTATION_RATE, baseMutationRate),
+                    Math.max(MIN_MUTATION_RATE, mutationRate * RATE_STEP));
+            crossoverRate = Math.max(Math.min(MIN_CROSSOVER_RATE, baseCrossoverRate), crossoverRate / RATE_STEP);
+        }
+    }
+
+    boolean shouldReset() {
+        return stagnantGenerations >= patience;
+    }
+
+    void onReset() {
+        if (bestFitnessValue > overallBestFitnessValue) {
+            overallBestFitnessValue = bestFitnessValue;
+            patience = Math.min(MAX_PATIENCE, patience * 3 / 2);
+        } else {
+            patience = Math.max(MIN_PATIENCE, patience * 3 / 4);
+        }
+        bestFitnessValue = 0;
+        stagnantGenerations = 0;
+        mutationRate = baseMutationRate;
+        crossoverRate = baseCrossoverRate;
+    }
+
+    double getMutationRate() {
+        return mutationRate;
+    }
+
+    double getCrossoverRate() {
+        return crossoverRate;
+    }
+
+    int getPatience() {
+        return patience;
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeDouble(mutationRate);
+        output.writeDouble(crossoverRate);
+        output.writeInt(patience);
+        output.writeInt(bestFitnessValue);
+        output.writeInt(overallBestFitnessValue);
+        output.writeInt(stagnantGenerations);
+    }
+
+    void readFrom(DataInput input) throws IOException {
+        mutationRate = input.readDouble();
+        crossoverRate = input.readDouble();
+        patience = input.readInt();
+        bestFitnessValue = input.readInt();
+        overallBestFitnessValue = input.readInt();
+        stagnantGenerations = input.readInt();
+    }
+}
@@ -0,0 +1,33 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+
+public class BacktrackingGamePlayServiceImpl extends AbstractGamePlayService {
+
+    @Override
+    public PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        SolveResult solveResult = solve(blueprintSudokuGrid, seed, cancellationToken);
+        return solveResult.isSolved() ? solveResult.getSudokuGrid() : null;
+    }
+
+    // the search is exact and deterministic, so the seed is not used and an uncancelled miss proves there is no solution
+    @Override
+    public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        long start = System.nanoTime();
+        BitmaskSearch bitmaskSearch = new BitmaskSearch(cancellationToken);
+        if (!bitmaskSearch.load(blueprintSudokuGrid))
+            return new SolveResult(SolveStatus.INVALID, null, System.nanoTime() - start);
+        boolean solved = bitmaskSearch.countSolutions(1) > 0;
+        solverMetrics.recordSolveCall(solved);
+        if (!solved) {
+            SolveStatus solveStatus = bitmaskSearch.isCancelled() ? SolveStatus.GAVE_UP : SolveStatus.NO_SOLUTION;
+            return new SolveResult(solveStatus, null, System.nanoTime() - start);
+        }
+        int[] solution = bitmaskSearch.getSolution();
+        return new SolveResult(SolveStatus.SOLVED, getAnswerBasedOn(blueprintSudokuGrid, i -> solution[i]),
+                System.nanoTime() - start);
+    }
+}
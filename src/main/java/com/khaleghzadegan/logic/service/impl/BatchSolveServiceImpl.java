@@ -0,0 +1,187 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.BatchSolveSummary;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.PuzzleArchive;
+import com.khaleghzadegan.logic.model.PuzzleArchiveWriter;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.BatchSolveService;
+import com.khaleghzadegan.logic.service.GamePlayService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BatchSolveServiceImpl implements BatchSolveService {
+
+    private static final int IN_FLIGHT_PUZZLES_PER_THREAD = 64;
+
+    private final GamePlayService gamePlayService;
+    private final int threadsCount;
+    private final long seed;
+
+    public BatchSolveServiceImpl(GamePlayService gamePlayService, int threadsCount, long seed) {
+        if (threadsCount < 1)
+            throw new InvalidInputException("Threads count must be positive!");
+        this.gamePlayService = gamePlayService;
+        this.threadsCount = threadsCount;
+        this.seed = seed;
+    }
+
+    @Override
+    public BatchSolveSummary solve(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long[] statusCounts = new long[SolveStatus.values().length];
+        int maxInFlightPuzzles = threadsCount * IN_FLIGHT_PUZZLES_PER_THREAD;
+        Deque<Future<PuzzleResult>> inFlightPuzzles = new ArrayDeque<>(maxInFlightPuzzles);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadsCount);
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            long puzzleIndex = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String puzzle = line.strip();
+                if (puzzle.isEmpty() || puzzle.startsWith("#")) continue;
+                long puzzleSeed = new SeededRandom(seed + puzzleIndex++).nextLong();
+                inFlightPuzzles.addLast(executorService.submit(() -> solvePuzzle(puzzle, puzzleSeed)));
+                if (inFlightPuzzles.size() >= maxInFlightPuzzles)
+                    writeResult(writer, inFlightPuzzles.removeFirst(), statusCounts);
+            }
+            while (!inFlightPuzzles.isEmpty()) {
+                writeResult(writer, inFlightPuzzles.removeFirst(), statusCounts);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        return new BatchSolveSummary(statusCounts[SolveStatus.SOLVED.ordinal()],
+                statusCounts[SolveStatus.INVALID.ordinal()],
+                statusCounts[SolveStatus.GAVE_UP.ordinal()],
+                statusCounts[SolveStatus.NO_SOLUTION.ordinal()],
+                System.nanoTime() - start);
+    }
+
+    // records are decoded by the solving threads, so the reading thread only queues record numbers; each in-flight
+    // record is decoded into a board that is handed back once its result has been written
+    @Override
+    public BatchSolveSummary solveArchive(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long[] statusCounts = new long[SolveStatus.values().length];
+        PuzzleArchive puzzleArchive = PuzzleArchive.open(input);
+        GridGeometry geometry = puzzleArchive.getGeometry();
+        int maxInFlightPuzzles = threadsCount * IN_FLIGHT_PUZZLES_PER_THREAD;
+        Deque<Future<PuzzleResult>> inFlightPuzzles = new ArrayDeque<>(maxInFlightPuzzles);
+        Deque<PackedSudokuGrid> freeBlueprints = new ArrayDeque<>(maxInFlightPuzzles);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadsCount);
+        try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(output, geometry, true)) {
+            for (long record = 0; record < puzzleArchive.getCount(); record++) {
+                long puzzleRecord = record;
+                long puzzleSeed = new SeededRandom(seed + record).nextLong();
+                PackedSudokuGrid blueprintSudokuGrid = freeBlueprints.isEmpty()
+                        ? new PackedSudokuGrid(geometry, new byte[geometry.getCellCount()],
+                        new long[(geometry.getCellCount() + 63) / 64]) : freeBlueprints.removeFirst();
+                inFlightPuzzles.addLast(executorService.submit(() -> {
+                    long puzzleStart = System.nanoTime();
+                    puzzleArchive.readPuzzle(puzzleRecord, blueprintSudokuGrid);
+                    return solveBlueprint(null, blueprintSudokuGrid, puzzleSeed, puzzleStart);
+                }));
+                if (inFlightPuzzles.size() >= maxInFlightPuzzles)
+                    freeBlueprints.addLast(writeResult(writer, inFlightPuzzles.removeFirst(), statusCounts));
+            }
+            while (!inFlightPuzzles.isEmpty()) {
+                writeResult(writer, inFlightPuzzles.removeFirst(), statusCounts);
+            }
+            writer.finish();
+        } finally {
+            executorService.shutdownNow();
+        }
+        return new BatchSolveSummary(statusCounts[SolveStatus.SOLVED.ordinal()],
+                statusCounts[SolveStatus.INVALID.ordinal()],
+                statusCounts[SolveStatus.GAVE_UP.ordinal()],
+                statusCounts[SolveStatus.NO_SOLUTION.ordinal()],
+                System.nanoTime() - start);
+    }
+
+    private PuzzleResult solvePuzzle(String puzzle, long puzzleSeed) {
+        long start = System.nanoTime();
+        PackedSudokuGrid blueprintSudokuGrid;
+        try {
+            blueprintSudokuGrid = PackedSudokuGrid.fromLine(puzzle);
+        } catch (InvalidInputException e) {
+            return new PuzzleResult(puzzle, null, null, SolveStatus.INVALID, System.nanoTime() - start);
+        }
+        return solveBlueprint(puzzle, blueprintSudokuGrid, puzzleSeed, start);
+    }
+
+    private PuzzleResult solveBlueprint(String puzzle, PackedSudokuGrid blueprintSudokuGrid, long puzzleSeed, long start) {
+        if (!gamePlayService.validateBlueprint(blueprintSudokuGrid))
+            return new PuzzleResult(puzzle, blueprintSudokuGrid, null, SolveStatus.INVALID, System.nanoTime() - start);
+        SolveResult solveResult = gamePlayService.solve(blueprintSudokuGrid, puzzleSeed, CancellationToken.NONE);
+        PackedSudokuGrid answer = solveResult.isSolved() ? solveResult.getSudokuGrid() : null;
+        return new PuzzleResult(puzzle, blueprintSudokuGrid, answer, solveResult.getSolveStatus(),
+                System.nanoTime() - start);
+    }
+
+    private void writeResult(BufferedWriter writer, Future<PuzzleResult> future, long[] statusCounts) throws IOException {
+        PuzzleResult puzzleResult = getResult(future, statusCounts);
+        writer.write(puzzleResult.puzzle);
+        writer.write(',');
+        if (puzzleResult.answer != null) writer.write(puzzleResult.answer.toString());
+        writer.write(',');
+        writer.write(puzzleResult.solveStatus.name());
+        writer.write(',');
+        writer.write(Long.toString(puzzleResult.elapsedNanos / 1_000));
+        writer.newLine();
+    }
+
+    private PackedSudokuGrid writeResult(PuzzleArchiveWriter writer, Future<PuzzleResult> future, long[] statusCounts)
+            throws IOException {
+        PuzzleResult puzzleResult = getResult(future, statusCounts);
+        writer.write(puzzleResult.blueprintSudokuGrid, puzzleResult.answer);
+        return puzzleResult.blueprintSudokuGrid;
+    }
+
+    private PuzzleResult getResult(Future<PuzzleResult> future, long[] statusCounts) throws IOException {
+        PuzzleResult puzzleResult;
+        try {
+            puzzleResult = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch solving was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Batch solving failed!", e.getCause());
+        }
+        statusCounts[puzzleResult.solveStatus.ordinal()]++;
+        return puzzleResult;
+    }
+
+    private static class PuzzleResult {
+        private final String puzzle;
+        private final PackedSudokuGrid blueprintSudokuGrid;
+        private final PackedSudokuGrid answer;
+        private final SolveStatus solveStatus;
+        private final long elapsedNanos;
+
+        PuzzleResult(String puzzle, PackedSudokuGrid blueprintSudokuGrid, PackedSudokuGrid answer,
+                     SolveStatus solveStatus, long elapsedNanos) {
+            this.puzzle = puzzle;
+            this.blueprintSudokuGrid = blueprintSudokuGrid;
+            this.answer = answer;
+            this.solveStatus = solveStatus;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Exact depth-first search over per-unit digit bitmasks, always branching on the empty cell with the fewest
+ * candidates. One instance is reusable but not thread-safe.
+ */
+final class BitmaskSearch {
+
+    private static final int CANCELLATION_CHECK_INTERVAL = 1 << 12;
+
+    private final CancellationToken cancellationToken;
+
+    private GridGeometry geometry;
+    private int allNumbersMask;
+    private int[] cellValues;
+    private int[] solution;
+    private int[] emptyCells;
+    private int[] unitMasks;
+    private int emptyCellsCount;
+    private int solutionsCount;
+    private int solutionsLimit;
+    private int visitedNodesCount;
+    private boolean cancelled;
+
+    BitmaskSearch() {
+        this(CancellationToken.NONE);
+    }
+
+    BitmaskSearch(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Loads the given cells of the blueprint; returns {@code false} when two of them clash.
+     */
+    boolean load(PackedSudokuGrid blueprintSudokuGrid) {
+        return load(blueprintSudokuGrid.getGeometry(),
+                i -> blueprintSudokuGrid.isFixed(i) ? blueprintSudokuGrid.getCellValue(i) : 0);
+    }
+
+    /**
+     * Loads the given values, 0 for an empty cell; returns {@code false} when two of them clash.
+     */
+    boolean load(GridGeometry geometry, IntUnaryOperator givenValues) {
+        if (this.geometry != geometry) {
+            this.geometry = geometry;
+            allNumbersMask = geometry.getAllValuesMask();
+            cellValues = new int[geometry.getCellCount()];
+            solution = new int[geometry.getCellCount()];
+            emptyCells = new int[geometry.getCellCount()];
+            unitMasks = new int[geometry.getUnitCount()];
+        }
+        emptyCellsCount = 0;
+        Arrays.fill(unitMasks, 0);
+        for (int i = 0; i < cellValues.length; i++) {
+            int value = givenValues.applyAsInt(i);
+            cellValues[i] = value;
+            if (value == 0) {
+                emptyCells[emptyCellsCount++] = i;
+            } else {
+                int bit = 1 << value;
+                if ((getUsedMask(i) & bit) != 0) return false;
+                setUsed(i, bit);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts solutions of the loaded blueprint, stopping as soon as {@code limit} of them are found.
+     * A cancelled search reports no solutions.
+     */
+    int countSolutions(int limit) {
+        solutionsCount = 0;
+        solutionsLimit = limit;
+        cancelled = false;
+        search(0);
+        return cancelled ? 0 : solutionsCount;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * First solution found by the last {@link #countSolutions(int)} call, valid when it returned a positive count.
+     */
+    int[] getSolution() {
+        return solution;
+    }
+
+    private boolean search(int depth) {
+        if (depth == emptyCellsCount) {
+            if (solutionsCount++ == 0)
+                System.arraycopy(cellValues, 0, solution, 0, cellValues.length);
+            return solutionsCount >= solutionsLimit;
+        }
+        if ((++visitedNodesCount & (CANCELLATION_CHECK_INTERVAL - 1)) == 0 && cancellationToken.isCancelled()) {
+            cancelled = true;
+            return true;
+        }
+
+        int bestPosition = -1;
+        int bestCandidates = 0;
+        int bestCandidatesCount = Integer.MAX_VALUE;
+        for (int i = depth; i < emptyCellsCount; i++) {
+            int candidates = allNumbersMask & ~getUsedMask(emptyCells[i]);
+            int candidatesCount = Integer.bitCount(candidates);
+            if (candidatesCount < bestCandidatesCount) {
+                bestPosition = i;
+                bestCandidates = candidates;
+                bestCandidatesCount = candidatesCount;
+                if (candidatesCount <= 1) break;
+            }
+        }
+        if (bestCandidatesCount == 0) return false;
+
+        int cellIndex = emptyCells[bestPosition];
+        emptyCells[bestPosition] = emptyCells[depth];
+        emptyCells[depth] = cellIndex;
+        while (bestCandidates != 0) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+            cellValues[cellIndex] = Integer.numberOfTrailingZeros(bit);
+            setUsed(cellIndex, bit);
+            boolean done = search(depth + 1);
+            clearUsed(cellIndex, bit);
+            cellValues[cellIndex] = 0;
+            if (done) return true;
+        }
+        return false;
+    }
+
+    private int getUsedMask(int cellIndex) {
+        return unitMasks[geometry.getRowUnit(cellIndex)]
+                | unitMasks[geometry.getColumnUnit(cellIndex)]
+                | unitMasks[geometry.getBoxUnit(cellIndex)];
+    }
+
+    private void setUsed(int cellIndex, int bit) {
+        unitMasks[geometry.getRowUnit(cellIndex)] |= bit;
+        unitMasks[geometry.getColumnUnit(cellIndex)] |= bit;
+        unitMasks[geometry.getBoxUnit(cellIndex)] |= bit;
+    }
+
+    private void clearUsed(int cellIndex, int bit) {
+        unitMasks[geometry.getRowUnit(cellIndex)] &= ~bit;
+        unitMasks[geometry.getColumnUnit(cellIndex)] &= ~bit;
+        unitMasks[geometry.getBoxUnit(cellIndex)] &= ~bit;
+    }
+}
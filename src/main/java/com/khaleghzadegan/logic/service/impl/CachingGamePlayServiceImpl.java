@@ -0,0 +1,115 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.SolverProgressListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Answers puzzles equivalent to an already solved one (see {@link CanonicalForm}) from a least-recently-used cache,
+ * and hands everything else to the wrapped engine. The cache is capped by the estimated bytes of its entries.
+ */
+public class CachingGamePlayServiceImpl extends AbstractGamePlayService {
+
+    // map entry, key and value object headers and references
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final GamePlayService gamePlayService;
+    private final long maximumBytes;
+    private final LinkedHashMap<String, byte[]> canonicalAnswers = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public CachingGamePlayServiceImpl(GamePlayService gamePlayService, long maximumBytes) {
+        if (maximumBytes < 0)
+            throw new InvalidInputException("Cache size must not be negative!");
+        this.gamePlayService = gamePlayService;
+        this.maximumBytes = maximumBytes;
+    }
+
+    // a seed configured on the wrapped engine applies to the solves that go through the cache
+    @Override
+    protected Long getConfiguredSeed() {
+        return gamePlayService instanceof AbstractGamePlayService
+                ? ((AbstractGamePlayService) gamePlayService).getConfiguredSeed() : null;
+    }
+
+    @Override
+    public PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        SolveResult solveResult = solve(blueprintSudokuGrid, seed, cancellationToken);
+        return solveResult.isSolved() ? solveResult.getSudokuGrid() : null;
+    }
+
+    @Override
+    public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        long start = System.nanoTime();
+        if (!validateBlueprint(blueprintSudokuGrid))
+            return new SolveResult(SolveStatus.INVALID, null, System.nanoTime() - start);
+
+        CanonicalForm canonicalForm = CanonicalForm.of(blueprintSudokuGrid);
+        String key = canonicalForm.getKey();
+        byte[] canonicalAnswer = get(key);
+        solverMetrics.recordCacheLookup(canonicalAnswer != null);
+        if (canonicalAnswer != null) {
+            solverMetrics.recordSolveCall(true);
+            PackedSudokuGrid answer = getAnswerBasedOn(blueprintSudokuGrid,
+                    cellIndex -> canonicalForm.getSourceValue(canonicalAnswer, cellIndex));
+            return new SolveResult(SolveStatus.SOLVED, answer, System.nanoTime() - start);
+        }
+
+        SolveResult solveResult = gamePlayService.solve(blueprintSudokuGrid, seed, cancellationToken);
+        solverMetrics.recordSolveCall(solveResult.isSolved());
+        if (solveResult.isSolved())
+            put(key, canonicalForm.toCanonical(solveResult.getSudokuGrid()));
+        return new SolveResult(solveResult.getSolveStatus(), solveResult.getSudokuGrid(), System.nanoTime() - start);
+    }
+
+    // progress comes from the wrapped engine, so its listeners are the ones that get called
+    @Override
+    public void addSolverProgressListener(SolverProgressListener solverProgressListener) {
+        gamePlayService.addSolverProgressListener(solverProgressListener);
+    }
+
+    @Override
+    public void removeSolverProgressListener(SolverProgressListener solverProgressListener) {
+        gamePlayService.removeSolverProgressListener(solverProgressListener);
+    }
+
+    public synchronized int getCachedAnswersCount() {
+        return canonicalAnswers.size();
+    }
+
+    public synchronized long getCachedBytes() {
+        return bytes;
+    }
+
+    private synchronized byte[] get(String key) {
+        return canonicalAnswers.get(key);
+    }
+
+    private synchronized void put(String key, byte[] canonicalAnswer) {
+        long entryBytes = getEntryBytes(key, canonicalAnswer);
+        if (entryBytes > maximumBytes) return;
+        byte[] previousAnswer = canonicalAnswers.put(key, canonicalAnswer);
+        bytes += entryBytes;
+        if (previousAnswer != null)
+            bytes -= getEntryBytes(key, previousAnswer);
+        Iterator<Map.Entry<String, byte[]>> leastRecentlyUsed = canonicalAnswers.entrySet().iterator();
+        while (bytes > maximumBytes) {
+            Map.Entry<String, byte[]> entry = leastRecentlyUsed.next();
+            bytes -= getEntryBytes(entry.getKey(), entry.getValue());
+            leastRecentlyUsed.remove();
+            solverMetrics.recordCacheEviction();
+        }
+    }
+
+    private static long getEntryBytes(String key, byte[] canonicalAnswer) {
+        return ENTRY_OVERHEAD_BYTES + key.length() + canonicalAnswer.length;
+    }
+}
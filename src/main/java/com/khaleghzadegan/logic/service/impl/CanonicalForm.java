@@ -0,0 +1,266 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Representative of the givens of a blueprint under the validity-preserving symmetries: transposition (so rotations
+ * too), band and stack permutations, row permutations inside a band, column permutations inside a stack, and value
+ * relabeling. Rows and columns are first ordered by invariants of those symmetries; only runs of equal invariants are
+ * permuted, and the lexicographically smallest relabeled grid among them wins. Past {@link #MAX_ORDERINGS} orderings
+ * per axis the search is cut short, which can only split one class over several keys, never merge two classes.
+ */
+final class CanonicalForm {
+
+    private static final int MAX_ORDERINGS = 64;
+
+    private final GridGeometry geometry;
+    private final int[] sourceCells;
+    private final int[] canonicalCells;
+    private final int[] canonicalValues;
+    private final int[] sourceValues;
+    private final byte[] givens;
+
+    private CanonicalForm(GridGeometry geometry, int[] sourceCells, int[] canonicalValues, byte[] givens) {
+        this.geometry = geometry;
+        this.sourceCells = sourceCells;
+        this.canonicalCells = new int[sourceCells.length];
+        for (int i = 0; i < sourceCells.length; i++) {
+            canonicalCells[sourceCells[i]] = i;
+        }
+        this.canonicalValues = canonicalValues;
+        this.sourceValues = new int[canonicalValues.length];
+        for (int value = 1; value < canonicalValues.length; value++) {
+            sourceValues[canonicalValues[value]] = value;
+        }
+        this.givens = givens;
+    }
+
+    static CanonicalForm of(PackedSudokuGrid blueprintSudokuGrid) {
+        GridGeometry geometry = blueprintSudokuGrid.getGeometry();
+        int size = geometry.getSize();
+        int[] givens = new int[geometry.getCellCount()];
+        for (int i = 0; i < givens.length; i++) {
+            if (blueprintSudokuGrid.isFixed(i)) givens[i] = blueprintSudokuGrid.getCellValue(i);
+        }
+
+        Candidate best = null;
+        boolean transposable = geometry.getBoxRows() == geometry.getBoxColumns();
+        for (int orientation = 0; orientation < (transposable ? 2 : 1); orientation++) {
+            boolean transposed = orientation == 1;
+            int[] rowCounts = new int[size];
+            int[] columnCounts = new int[size];
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    if (givens[getSourceCell(size, transposed, row, column)] != 0) {
+                        rowCounts[row]++;
+                        columnCounts[column]++;
+                    }
+                }
+            }
+            long[] rowSignatures = new long[size];
+            long[] columnSignatures = new long[size];
+            for (int line = 0; line < size; line++) {
+                rowSignatures[line] = getLineSignature(givens, size, transposed, line, true, columnCounts);
+                columnSignatures[line] = getLineSignature(givens, size, transposed, line, false, rowCounts);
+            }
+            List<int[]> rowOrders = getOrderings(geometry.getBoxColumns(), geometry.getBoxRows(), rowSignatures);
+            List<int[]> columnOrders = getOrderings(geometry.getBoxRows(), geometry.getBoxColumns(), columnSignatures);
+            for (int[] rowOrder : rowOrders) {
+                for (int[] columnOrder : columnOrders) {
+                    best = Candidate.challenge(best, givens, size, transposed, rowOrder, columnOrder);
+                }
+            }
+        }
+        return best.toCanonicalForm(geometry);
+    }
+
+    /**
+     * Cache key: the canonical givens, one char per cell.
+     */
+    String getKey() {
+        return new String(givens, StandardCharsets.ISO_8859_1);
+    }
+
+    GridGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * The answer moved into canonical cells and values, one byte per cell.
+     */
+    byte[] toCanonical(PackedSudokuGrid answer) {
+        byte[] canonical = new byte[sourceCells.length];
+        for (int i = 0; i < canonical.length; i++) {
+            canonical[i] = (byte) canonicalValues[answer.getCellValue(sourceCells[i])];
+        }
+        return canonical;
+    }
+
+    /**
+     * Value of a source cell read back from a canonical answer.
+     */
+    int getSourceValue(byte[] canonicalAnswer, int cellIndex) {
+        return sourceValues[canonicalAnswer[canonicalCells[cellIndex]]];
+    }
+
+    private static int getSourceCell(int size, boolean transposed, int row, int column) {
+        return transposed ? column * size + row : row * size + column;
+    }
+
+    // givens count of the line, then the givens counts of the crossing lines at its givens, in order
+    private static long getLineSignature(int[] givens, int size, boolean transposed, int line, boolean isRow,
+                                         int[] crossingCounts) {
+        int[] counts = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int cellIndex = isRow ? getSourceCell(size, transposed, line, i) : getSourceCell(size, transposed, i, line);
+            if (givens[cellIndex] != 0) counts[count++] = crossingCounts[i];
+        }
+        Arrays.sort(counts, 0, count);
+        long signature = count;
+        for (int i = 0; i < count; i++) {
+            signature = signature * 31 + counts[i];
+        }
+        return signature;
+    }
+
+    // groups (bands or stacks) by their sorted line signatures, then lines inside each group; ties are permuted
+    private static List<int[]> getOrderings(int groupsCount, int groupSize, long[] lineSignatures) {
+        long[] groupSignatures = new long[groupsCount];
+        List<List<int[]>> lineOrders = new ArrayList<>(groupsCount);
+        for (int group = 0; group < groupsCount; group++) {
+            int[] lines = new int[groupSize];
+            long[] signatures = new long[groupSize];
+            for (int i = 0; i < groupSize; i++) {
+                lines[i] = group * groupSize + i;
+                signatures[i] = lineSignatures[lines[i]];
+            }
+            Arrays.sort(signatures);
+            long groupSignature = 0;
+            for (long signature : signatures) {
+                groupSignature = groupSignature * 1_000_003 + signature;
+            }
+            groupSignatures[group] = groupSignature;
+            lineOrders.add(getTiedPermutations(lines, lineSignatures));
+        }
+        int[] groups = new int[groupsCount];
+        for (int group = 0; group < groupsCount; group++) groups[group] = group;
+
+        List<int[]> orderings = new ArrayList<>();
+        for (int[] groupOrder : getTiedPermutations(groups, groupSignatures)) {
+            List<int[]> partialOrderings = new ArrayList<>();
+            partialOrderings.add(new int[0]);
+            for (int group : groupOrder) {
+                partialOrderings = getProducts(partialOrderings, lineOrders.get(group));
+            }
+            for (int[] ordering : partialOrderings) {
+                if (orderings.size() == MAX_ORDERINGS) return orderings;
+                orderings.add(ordering);
+            }
+        }
+        return orderings;
+    }
+
+    // the items sorted by signature, in every arrangement that only reorders items of equal signature
+    private static List<int[]> getTiedPermutations(int[] items, long[] signatures) {
+        Integer[] sortedItems = new Integer[items.length];
+        for (int i = 0; i < items.length; i++) sortedItems[i] = items[i];
+        Arrays.sort(sortedItems, (item1, item2) -> Long.compare(signatures[item1], signatures[item2]));
+
+        List<int[]> permutations = new ArrayList<>();
+        permutations.add(new int[0]);
+        int runStart = 0;
+        while (runStart < sortedItems.length) {
+            int runEnd = runStart + 1;
+            while (runEnd < sortedItems.length && signatures[sortedItems[runEnd]] == signatures[sortedItems[runStart]])
+                runEnd++;
+            int[] run = new int[runEnd - runStart];
+            for (int i = 0; i < run.length; i++) run[i] = sortedItems[runStart + i];
+            List<int[]> runPermutations = new ArrayList<>();
+            permute(run, 0, runPermutations);
+            permutations = getProducts(permutations, runPermutations);
+            runStart = runEnd;
+        }
+        return permutations;
+    }
+
+    private static void permute(int[] items, int from, List<int[]> permutations) {
+        if (permutations.size() == MAX_ORDERINGS) return;
+        if (from == items.length) {
+            permutations.add(items.clone());
+            return;
+        }
+        for (int i = from; i < items.length; i++) {
+            swap(items, from, i);
+            permute(items, from + 1, permutations);
+            swap(items, from, i);
+        }
+    }
+
+    private static void swap(int[] items, int i, int j) {
+        int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+
+    private static List<int[]> getProducts(List<int[]> prefixes, List<int[]> suffixes) {
+        List<int[]> products = new ArrayList<>(Math.min(MAX_ORDERINGS, prefixes.size() * suffixes.size()));
+        for (int[] prefix : prefixes) {
+            for (int[] suffix : suffixes) {
+                if (products.size() == MAX_ORDERINGS) return products;
+                int[] product = Arrays.copyOf(prefix, prefix.length + suffix.length);
+                System.arraycopy(suffix, 0, product, prefix.length, suffix.length);
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static class Candidate {
+        private final int[] sourceCells;
+        private final int[] canonicalValues;
+        private final byte[] givens;
+
+        private Candidate(int[] sourceCells, int[] canonicalValues, byte[] givens) {
+            this.sourceCells = sourceCells;
+            this.canonicalValues = canonicalValues;
+            this.givens = givens;
+        }
+
+        // values are relabeled in order of first appearance; gives up at the first cell larger than the best's
+        static Candidate challenge(Candidate best, int[] givens, int size, boolean transposed,
+                                   int[] rowOrder, int[] columnOrder) {
+            int[] sourceCells = new int[givens.length];
+            int[] canonicalValues = new int[size + 1];
+            byte[] canonicalGivens = new byte[givens.length];
+            int nextValue = 1;
+            boolean smaller = best == null;
+            for (int i = 0; i < givens.length; i++) {
+                int sourceCell = getSourceCell(size, transposed, rowOrder[i / size], columnOrder[i % size]);
+                sourceCells[i] = sourceCell;
+                int value = givens[sourceCell];
+                if (value != 0 && canonicalValues[value] == 0) canonicalValues[value] = nextValue++;
+                canonicalGivens[i] = (byte) canonicalValues[value];
+                if (!smaller) {
+                    if (canonicalGivens[i] > best.givens[i]) return best;
+                    smaller = canonicalGivens[i] < best.givens[i];
+                }
+            }
+            if (!smaller) return best;
+            for (int value = 1; value <= size; value++) {
+                if (canonicalValues[value] == 0) canonicalValues[value] = nextValue++;
+            }
+            return new Candidate(sourceCells, canonicalValues, canonicalGivens);
+        }
+
+        CanonicalForm toCanonicalForm(GridGeometry geometry) {
+            return new CanonicalForm(geometry, sourceCells, canonicalValues, givens);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot file of a genetic search: magic number, version, payload length, payload and the CRC-32 of the payload.
+ * A snapshot is written to a sibling file, flushed and then moved over the previous one, so a crash mid-write
+ * leaves the previous snapshot intact instead of a torn one.
+ */
+final class CheckpointFile {
+
+    private static final int MAGIC = 0x53475343;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    private CheckpointFile() {
+    }
+
+    static void write(Path path, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length + Long.BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(payload.length)
+                .put(payload)
+                .putLong(crc.getValue())
+                .flip();
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static DataInputStream read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_BYTES + Long.BYTES || buffer.getInt() != MAGIC)
+            throw new IOException(path + " is not a checkpoint!");
+        if (buffer.getInt() != VERSION)
+            throw new IOException(path + " was written by another version of the solver!");
+        int payloadLength = buffer.getInt();
+        if (payloadLength < 0 || payloadLength != buffer.remaining() - Long.BYTES)
+            throw new IOException(path + " is truncated!");
+        byte[] payload = new byte[payloadLength];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() != buffer.getLong())
+            throw new IOException(path + " is corrupted!");
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,192 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.ConstraintPropagationService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class ConstraintPropagationServiceImpl implements ConstraintPropagationService {
+
+    private static final int CONTRADICTION = -1;
+    private static final int UNCHANGED = 0;
+    private static final int CHANGED = 1;
+
+    // every sub-square paired with each row and column crossing it: {intersection, rest of square, rest of line}
+    private static final ConcurrentMap<GridGeometry, int[][][]> INTERSECTIONS = new ConcurrentHashMap<>();
+
+    @Override
+    public PackedSudokuGrid propagate(PackedSudokuGrid blueprintSudokuGrid) {
+        GridGeometry geometry = blueprintSudokuGrid.getGeometry();
+        int[] values = new int[geometry.getCellCount()];
+        int[] candidates = new int[geometry.getCellCount()];
+        Arrays.fill(candidates, geometry.getAllValuesMask());
+        for (int i = 0; i < values.length; i++) {
+            if (blueprintSudokuGrid.isFixed(i) && assign(geometry, values, candidates, i, blueprintSudokuGrid.getCellValue(i)) == CONTRADICTION)
+                return null;
+        }
+
+        int[][][] intersections = INTERSECTIONS.computeIfAbsent(geometry, ConstraintPropagationServiceImpl::buildIntersections);
+        int status = CHANGED;
+        while (status == CHANGED) {
+            status = assignNakedSingles(geometry, values, candidates);
+            if (status == UNCHANGED) status = assignHiddenSingles(geometry, values, candidates);
+            if (status == UNCHANGED) status = eliminateLockedCandidates(intersections, candidates);
+            if (status == UNCHANGED) status = eliminateNakedPairs(geometry, values, candidates);
+            if (status == CONTRADICTION) return null;
+        }
+        return getBlueprintWithForcedCellsFixed(geometry, values);
+    }
+
+    private int assignNakedSingles(GridGeometry geometry, int[] values, int[] candidates) {
+        int status = UNCHANGED;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == 0 && Integer.bitCount(candidates[i]) == 1) {
+                if (assign(geometry, values, candidates, i, Integer.numberOfTrailingZeros(candidates[i])) == CONTRADICTION)
+                    return CONTRADICTION;
+                status = CHANGED;
+            }
+        }
+        return status;
+    }
+
+    private int assignHiddenSingles(GridGeometry geometry, int[] values, int[] candidates) {
+        int status = UNCHANGED;
+        for (int[] unit : geometry.getAllUnits()) {
+            int seenOnce = 0;
+            int seenTwice = 0;
+            for (int cellIndex : unit) {
+                seenTwice |= seenOnce & candidates[cellIndex];
+                seenOnce |= candidates[cellIndex];
+            }
+            if (seenOnce != geometry.getAllValuesMask()) return CONTRADICTION;
+            int hiddenSingles = seenOnce & ~seenTwice;
+            for (int cellIndex : unit) {
+                int single = candidates[cellIndex] & hiddenSingles;
+                if (single == 0 || values[cellIndex] != 0) continue;
+                if (Integer.bitCount(single) > 1) return CONTRADICTION;
+                if (assign(geometry, values, candidates, cellIndex, Integer.numberOfTrailingZeros(single)) == CONTRADICTION)
+                    return CONTRADICTION;
+                status = CHANGED;
+            }
+        }
+        return status;
+    }
+
+    private int eliminateLockedCandidates(int[][][] intersections, int[] candidates) {
+        int status = UNCHANGED;
+        for (int[][] intersection : intersections) {
+            int intersectionMask = getCandidatesMaskIn(candidates, intersection[0]);
+            int subSquareRestMask = getCandidatesMaskIn(candidates, intersection[1]);
+            int lineRestMask = getCandidatesMaskIn(candidates, intersection[2]);
+            int pointing = intersectionMask & ~subSquareRestMask & lineRestMask;
+            int claiming = intersectionMask & ~lineRestMask & subSquareRestMask;
+            status = merge(status, eliminate(candidates, intersection[2], pointing));
+            status = merge(status, eliminate(candidates, intersection[1], claiming));
+            if (status == CONTRADICTION) return CONTRADICTION;
+        }
+        return status;
+    }
+
+    private int eliminateNakedPairs(GridGeometry geometry, int[] values, int[] candidates) {
+        int status = UNCHANGED;
+        for (int[] unit : geometry.getAllUnits()) {
+            for (int i = 0; i < unit.length; i++) {
+                int pair = candidates[unit[i]];
+                if (values[unit[i]] != 0 || Integer.bitCount(pair) != 2) continue;
+                for (int j = i + 1; j < unit.length; j++) {
+                    if (values[unit[j]] != 0 || candidates[unit[j]] != pair) continue;
+                    for (int cellIndex : unit) {
+                        if (cellIndex == unit[i] || cellIndex == unit[j]) continue;
+                        status = merge(status, eliminate(candidates, cellIndex, pair));
+                        if (status == CONTRADICTION) return CONTRADICTION;
+                    }
+                }
+            }
+        }
+        return status;
+    }
+
+    private int assign(GridGeometry geometry, int[] values, int[] candidates, int cellIndex, int value) {
+        int bit = 1 << value;
+        if ((candidates[cellIndex] & bit) == 0) return CONTRADICTION;
+        values[cellIndex] = value;
+        candidates[cellIndex] = bit;
+        for (int unitIndex : getUnitsOf(geometry, cellIndex)) {
+            for (int peerIndex : geometry.getAllUnits()[unitIndex]) {
+                if (peerIndex != cellIndex && eliminate(candidates, peerIndex, bit) == CONTRADICTION)
+                    return CONTRADICTION;
+            }
+        }
+        return CHANGED;
+    }
+
+    private int eliminate(int[] candidates, int[] cellIndexes, int mask) {
+        if (mask == 0) return UNCHANGED;
+        int status = UNCHANGED;
+        for (int cellIndex : cellIndexes) {
+            status = merge(status, eliminate(candidates, cellIndex, mask));
+        }
+        return status;
+    }
+
+    private int eliminate(int[] candidates, int cellIndex, int mask) {
+        if ((candidates[cellIndex] & mask) == 0) return UNCHANGED;
+        candidates[cellIndex] &= ~mask;
+        return candidates[cellIndex] == 0 ? CONTRADICTION : CHANGED;
+    }
+
+    private int merge(int status1, int status2) {
+        if (status1 == CONTRADICTION || status2 == CONTRADICTION) return CONTRADICTION;
+        return Math.max(status1, status2);
+    }
+
+    private int getCandidatesMaskIn(int[] candidates, int[] cellIndexes) {
+        int mask = 0;
+        for (int cellIndex : cellIndexes) {
+            mask |= candidates[cellIndex];
+        }
+        return mask;
+    }
+
+    private int[] getUnitsOf(GridGeometry geometry, int cellIndex) {
+        return new int[]{geometry.getRowUnit(cellIndex), geometry.getColumnUnit(cellIndex), geometry.getBoxUnit(cellIndex)};
+    }
+
+    private PackedSudokuGrid getBlueprintWithForcedCellsFixed(GridGeometry geometry, int[] values) {
+        byte[] cellValues = new byte[values.length];
+        long[] fixedCellMask = new long[(values.length + 63) / 64];
+        for (int i = 0; i < values.length; i++) {
+            cellValues[i] = (byte) values[i];
+            if (values[i] != 0) fixedCellMask[i >>> 6] |= 1L << i;
+        }
+        return new PackedSudokuGrid(geometry, cellValues, fixedCellMask);
+    }
+
+    private static int[][][] buildIntersections(GridGeometry geometry) {
+        List<int[][]> intersections = new ArrayList<>();
+        for (int[] subSquare : geometry.getBoxes()) {
+            for (int[][] lines : new int[][][]{geometry.getRows(), geometry.getColumns()}) {
+                for (int[] line : lines) {
+                    int[] intersection = Arrays.stream(subSquare).filter(i -> contains(line, i)).toArray();
+                    if (intersection.length == 0) continue;
+                    int[] subSquareRest = Arrays.stream(subSquare).filter(i -> !contains(line, i)).toArray();
+                    int[] lineRest = Arrays.stream(line).filter(i -> !contains(subSquare, i)).toArray();
+                    intersections.add(new int[][]{intersection, subSquareRest, lineRest});
+                }
+            }
+        }
+        return intersections.toArray(new int[0][][]);
+    }
+
+    private static boolean contains(int[] array, int value) {
+        for (int element : array) {
+            if (element == value) return true;
+        }
+        return false;
+    }
+}
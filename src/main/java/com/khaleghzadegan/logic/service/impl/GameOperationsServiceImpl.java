@@ -1,207 +1,342 @@
 package com.khaleghzadegan.logic.service.impl;
 
-import com.khaleghzadegan.logic.model.GridCell;
-import com.khaleghzadegan.logic.model.SudokuGrid;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.LocalSearchStrategy;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
 import com.khaleghzadegan.logic.service.GameOperationsService;
+import com.khaleghzadegan.logic.service.SelectionService;
 
-import java.util.*;
+import java.util.Arrays;
 
 public class GameOperationsServiceImpl implements GameOperationsService {
 
-    private static final Random RANDOM = new Random();
+    private static final double INITIAL_TEMPERATURE = 1.5;
+    private static final double FINAL_TEMPERATURE = 0.05;
+    private static final int TABU_CANDIDATES_COUNT = 16;
+    private static final int TABU_TENURE = 8;
+    private static final int MAX_CELL_COUNT = GridGeometry.MAX_SIZE * GridGeometry.MAX_SIZE;
 
-    @Override
-    public void removeRepetition(SudokuGrid sudokuGrid) {
-        replaceRepetitiveNumbersWithRandomNumbersRowWise(sudokuGrid);
-        replaceRepetitiveNumbersWithRandomNumbersColumnWise(sudokuGrid);
+    private final SeededRandom random;
+    private final int[] lookupArray = new int[GridGeometry.MAX_SIZE + 1];
+    private final SelectionService selectionService;
+    private double mutationRate;
+    private double crossoverRate;
+    private final LocalSearchStrategy localSearchStrategy;
+    private final int localSearchSteps;
+    private final int[] swappableCells = new int[MAX_CELL_COUNT];
+    private final int[] swappableRowOffsets = new int[GridGeometry.MAX_SIZE + 1];
+    private final int[] tabuUntilStep = new int[MAX_CELL_COUNT];
+    private final byte[] fittestCellValues = new byte[MAX_CELL_COUNT];
+
+    public GameOperationsServiceImpl() {
+        this(new SeededRandom(SeededRandom.newSeed()));
     }
 
-    private void replaceRepetitiveNumbersWithRandomNumbersRowWise(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            GridCell[] row = gridCells[i];
-            replaceRepetitiveNumbersWithZeros(row);
-            fillZeroCellsWithNoneRepeatedRandomNumbers(row);
-        }
+    public GameOperationsServiceImpl(SeededRandom random) {
+        this(random, SelectionService.build(), GeneticAlgorithmSettings.DEFAULT_MUTATION_RATE,
+                GeneticAlgorithmSettings.DEFAULT_CROSSOVER_RATE);
     }
 
-    private void replaceRepetitiveNumbersWithRandomNumbersColumnWise(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            GridCell[] column = getColumn(i, gridCells);
-            replaceRepetitiveNumbersWithZeros(column);
-            fillZeroCellsWithNoneRepeatedRandomNumbers(column);
-        }
+    public GameOperationsServiceImpl(SeededRandom random, SelectionService selectionService,
+                                     double mutationRate, double crossoverRate) {
+        this(random, selectionService, mutationRate, crossoverRate, LocalSearchStrategy.NONE, 0);
     }
 
-    private GridCell[] getColumn(int columnIndex, GridCell[][] gridCells) {
-        GridCell[] array = new GridCell[SudokuGrid.GAME_BOUNDARY];
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            System.arraycopy(gridCells[i], columnIndex, array, i, 1);
-        }
-        return array;
+    public GameOperationsServiceImpl(SeededRandom random, SelectionService selectionService,
+                                     double mutationRate, double crossoverRate,
+                                     LocalSearchStrategy localSearchStrategy, int localSearchSteps) {
+        this.random = random;
+        this.selectionService = selectionService;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.localSearchStrategy = localSearchStrategy;
+        this.localSearchSteps = localSearchSteps;
+    }
+
+    @Override
+    public void removeRepetition(PackedSudokuGrid sudokuGrid) {
+        replaceRepetitiveNumbersWithRandomNumbers(sudokuGrid, sudokuGrid.getGeometry().getRows());
+        replaceRepetitiveNumbersWithRandomNumbers(sudokuGrid, sudokuGrid.getGeometry().getColumns());
     }
 
+    private void replaceRepetitiveNumbersWithRandomNumbers(PackedSudokuGrid sudokuGrid, int[][] units) {
+        for (int[] unit : units) {
+            replaceRepetitiveNumbersWithZeros(sudokuGrid, unit);
+            fillZeroCellsWithNoneRepeatedRandomNumbers(sudokuGrid, unit);
+        }
+    }
 
-    private void replaceRepetitiveNumbersWithZeros(GridCell[] gridCellArray) {
-        int[] lookupArray = getLookupArray(gridCellArray);
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            Integer value = gridCellArray[i].getCellValue();
-            if (lookupArray[value] > 1 && gridCellArray[i].getCellType() == GridCell.CellType.CHANGEABLE) {
+    private void replaceRepetitiveNumbersWithZeros(PackedSudokuGrid sudokuGrid, int[] unit) {
+        Arrays.fill(lookupArray, 0);
+        for (int cellIndex : unit) {
+            lookupArray[sudokuGrid.getCellValue(cellIndex)]++;
+        }
+        for (int cellIndex : unit) {
+            int value = sudokuGrid.getCellValue(cellIndex);
+            if (lookupArray[value] > 1 && !sudokuGrid.isFixed(cellIndex)) {
                 lookupArray[value]--;
-                gridCellArray[i].setCellValue(0);
+                sudokuGrid.setCellValue(cellIndex, 0);
             }
         }
     }
 
-    private int[] getLookupArray(GridCell[] gridCellArray) {
-        int[] lookupArray = new int[SudokuGrid.GAME_BOUNDARY + 1];
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            Integer value = gridCellArray[i].getCellValue();
-            lookupArray[value]++;
+    private void fillZeroCellsWithNoneRepeatedRandomNumbers(PackedSudokuGrid sudokuGrid, int[] unit) {
+        int availableNumbers = sudokuGrid.getGeometry().getAllValuesMask() & ~getNumbersMaskIn(sudokuGrid, unit);
+        for (int cellIndex : unit) {
+            if (sudokuGrid.getCellValue(cellIndex) == 0) {
+                int nextInt = getRandomNumberIn(availableNumbers);
+                availableNumbers &= ~(1 << nextInt);
+                sudokuGrid.setCellValue(cellIndex, nextInt);
+            }
         }
-        return lookupArray;
     }
 
-    private void fillZeroCellsWithNoneRepeatedRandomNumbers(GridCell[] gridCellArray) {
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            if (gridCellArray[i].getCellValue() == 0) {
-                Integer nextInt = getRandomNumberNotIn(gridCellArray);
-                gridCellArray[i].setCellValue(nextInt);
-            }
+    private int getNumbersMaskIn(PackedSudokuGrid sudokuGrid, int[] unit) {
+        int numbersMask = 0;
+        for (int cellIndex : unit) {
+            numbersMask |= 1 << sudokuGrid.getCellValue(cellIndex);
         }
+        return numbersMask;
     }
 
-    private Integer getRandomNumberNotIn(GridCell[] gridCellArray) {
-        Integer[] availableNumbers = getAllNonZeroIntegersFromOneToMaxNotIn(gridCellArray);
-        int index = RANDOM.nextInt(Objects.requireNonNull(availableNumbers).length);
-        return availableNumbers[index];
+    private int getRandomNumberIn(int numbersMask) {
+        int index = random.nextInt(Integer.bitCount(numbersMask));
+        for (int i = 0; i < index; i++) {
+            numbersMask &= numbersMask - 1;
+        }
+        return Integer.numberOfTrailingZeros(numbersMask);
     }
 
-    private Integer[] getAllNonZeroIntegersFromOneToMaxNotIn(GridCell[] gridCellArray) {
-        Set<Integer> temp = getAllIntegersFromOneToMax();
-        Set<Integer> availableNumbers = getAvailableNonZeroIntegersIn(gridCellArray);
-        temp.removeAll(availableNumbers);
-        return temp.toArray(new Integer[0]);
+
+    @Override
+    public void calculateAndUpdateFitnessValue(PackedSudokuGrid sudokuGrid) {
+        sudokuGrid.setGridFitnessValue(sudokuGrid.getMaxFitnessValue() - sudokuGrid.getRepeatedPairsCount());
     }
 
-    private Set<Integer> getAllIntegersFromOneToMax() {
-        Set<Integer> allNumbersSet = new HashSet<>();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            allNumbersSet.add(i + 1);
+    @Override
+    public void performUniformRowWiseCrossover(PackedSudokuGrid sudokuGrid1, PackedSudokuGrid sudokuGrid2) {
+        for (int i = 0; i < sudokuGrid1.getGeometry().getSize(); i++) {
+            if (random.nextDouble() < crossoverRate) {
+                sudokuGrid2.copyRowFrom(sudokuGrid1, i);
+            }
         }
-        return allNumbersSet;
     }
 
-    private Set<Integer> getAvailableNonZeroIntegersIn(GridCell[] gridCellArray) {
-        Set<Integer> availableNumbers = new HashSet<>();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            Integer value = gridCellArray[i].getCellValue();
-            if (value != 0) availableNumbers.add(value);
+    @Override
+    public void performBitWiseMutation(PackedSudokuGrid sudokuGrid) {
+        int size = sudokuGrid.getGeometry().getSize();
+        for (int i = 0; i < sudokuGrid.getCellCount(); i++) {
+            if (random.nextDouble() < mutationRate && !sudokuGrid.isFixed(i))
+                sudokuGrid.setCellValue(i, random.nextInt(size) + 1);
         }
-        return availableNumbers;
     }
 
+    @Override
+    public void generateRowPermutations(PackedSudokuGrid sudokuGrid) {
+        for (int[] row : sudokuGrid.getGeometry().getRows()) {
+            for (int cellIndex : row) {
+                if (!sudokuGrid.isFixed(cellIndex))
+                    sudokuGrid.setCellValue(cellIndex, 0);
+            }
+            fillZeroCellsWithNoneRepeatedRandomNumbers(sudokuGrid, row);
+        }
+    }
+
+    @Override
+    public void performRowExchangeCrossover(PackedSudokuGrid sudokuGrid1, PackedSudokuGrid sudokuGrid2) {
+        if (random.nextDouble() >= crossoverRate) return;
+        for (int[] row : sudokuGrid1.getGeometry().getRows()) {
+            if (random.nextInt(2) == 0) continue;
+            for (int cellIndex : row) {
+                int value1 = sudokuGrid1.getCellValue(cellIndex);
+                int value2 = sudokuGrid2.getCellValue(cellIndex);
+                if (value1 != value2) {
+                    sudokuGrid1.setCellValue(cellIndex, value2);
+                    sudokuGrid2.setCellValue(cellIndex, value1);
+                }
+            }
+        }
+    }
 
     @Override
-    public void calculateAndUpdateFitnessValue(SudokuGrid sudokuGrid) {
-        Integer rowFitnessValue = getFitnessValueForRows(sudokuGrid);
-        Integer columnFitnessValue = getFitnessValueForColumns(sudokuGrid);
-        Integer subSquareFitnessValue = getFitnessValueForSubSquares(sudokuGrid);
-        Integer totalFitnessValue = rowFitnessValue + columnFitnessValue + subSquareFitnessValue;
-        sudokuGrid.setGridFitnessValue(totalFitnessValue);
+    public void performSwapMutation(PackedSudokuGrid sudokuGrid) {
+        for (int[] row : sudokuGrid.getGeometry().getRows()) {
+            if (random.nextDouble() >= mutationRate) continue;
+            int changeableCellsCount = 0;
+            for (int cellIndex : row) {
+                if (!sudokuGrid.isFixed(cellIndex)) changeableCellsCount++;
+            }
+            if (changeableCellsCount < 2) continue;
+            int first = random.nextInt(changeableCellsCount);
+            int second = random.nextInt(changeableCellsCount - 1);
+            if (second >= first) second++;
+            swapCellValues(sudokuGrid, getChangeableCell(sudokuGrid, row, first), getChangeableCell(sudokuGrid, row, second));
+        }
     }
 
-    private Integer getFitnessValueForRows(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        var result = 0;
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            GridCell[] row = gridCells[i];
-            result += getFitnessValueFor(row);
+    private int getChangeableCell(PackedSudokuGrid sudokuGrid, int[] row, int position) {
+        for (int cellIndex : row) {
+            if (!sudokuGrid.isFixed(cellIndex) && position-- == 0) return cellIndex;
         }
-        return result;
+        throw new IllegalArgumentException("Row has fewer changeable cells than " + position);
     }
 
-    private Integer getFitnessValueForColumns(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        var result = 0;
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            GridCell[] column = getColumn(i, gridCells);
-            result += getFitnessValueFor(column);
+    private void swapCellValues(PackedSudokuGrid sudokuGrid, int cellIndex1, int cellIndex2) {
+        int value = sudokuGrid.getCellValue(cellIndex1);
+        sudokuGrid.setCellValue(cellIndex1, sudokuGrid.getCellValue(cellIndex2));
+        sudokuGrid.setCellValue(cellIndex2, value);
+    }
+
+    @Override
+    public void performLocalSearch(PackedSudokuGrid sudokuGrid) {
+        if (localSearchStrategy == LocalSearchStrategy.NONE || localSearchSteps == 0) return;
+        int swappableRowsCount = collectSwappableCells(sudokuGrid);
+        if (swappableRowsCount == 0) return;
+        int repeatedPairsCount = sudokuGrid.getRepeatedPairsCount();
+        int fittestRepeatedPairsCount = repeatedPairsCount;
+        saveCellValues(sudokuGrid);
+        if (localSearchStrategy == LocalSearchStrategy.TABU)
+            Arrays.fill(tabuUntilStep, 0, sudokuGrid.getCellCount(), 0);
+        double temperature = INITIAL_TEMPERATURE;
+        double cooling = Math.pow(FINAL_TEMPERATURE / INITIAL_TEMPERATURE, 1.0 / localSearchSteps);
+        for (int step = 0; step < localSearchSteps && repeatedPairsCount > 0; step++) {
+            int delta = localSearchStrategy == LocalSearchStrategy.TABU
+                    ? performTabuStep(sudokuGrid, swappableRowsCount, step, repeatedPairsCount - fittestRepeatedPairsCount)
+                    : performAnnealingStep(sudokuGrid, swappableRowsCount, temperature);
+            repeatedPairsCount += delta;
+            temperature *= cooling;
+            if (repeatedPairsCount < fittestRepeatedPairsCount) {
+                fittestRepeatedPairsCount = repeatedPairsCount;
+                saveCellValues(sudokuGrid);
+            }
         }
-        return result;
+        if (repeatedPairsCount > fittestRepeatedPairsCount)
+            restoreCellValues(sudokuGrid);
+        calculateAndUpdateFitnessValue(sudokuGrid);
     }
 
-    private Integer getFitnessValueFor(GridCell[] array) {
-        var result = 0;
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            for (int j = i + 1; j < SudokuGrid.GAME_BOUNDARY; j++) {
-                if (!array[i].getCellValue().equals(array[j].getCellValue())) result++;
+    // returns the change of repeated pairs, 0 when the swap was rejected
+    private int performAnnealingStep(PackedSudokuGrid sudokuGrid, int swappableRowsCount, double temperature) {
+        int row = random.nextInt(swappableRowsCount);
+        int from = swappableRowOffsets[row];
+        int count = swappableRowOffsets[row + 1] - from;
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) second++;
+        int cellIndex1 = swappableCells[from + first];
+        int cellIndex2 = swappableCells[from + second];
+        if (sudokuGrid.getCellValue(cellIndex1) == sudokuGrid.getCellValue(cellIndex2)) return 0;
+        int delta = getSwapDelta(sudokuGrid, cellIndex1, cellIndex2);
+        if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) return 0;
+        swapCellValues(sudokuGrid, cellIndex1, cellIndex2);
+        return delta;
+    }
+
+    // takes the best sampled swap, even a worsening one; a tabu swap only when it would reach a new best state
+    private int performTabuStep(PackedSudokuGrid sudokuGrid, int swappableRowsCount, int step, int excessPairsCount) {
+        int bestDelta = Integer.MAX_VALUE;
+        int bestCellIndex1 = -1;
+        int bestCellIndex2 = -1;
+        for (int candidate = 0; candidate < TABU_CANDIDATES_COUNT; candidate++) {
+            int row = random.nextInt(swappableRowsCount);
+            int from = swappableRowOffsets[row];
+            int count = swappableRowOffsets[row + 1] - from;
+            int first = random.nextInt(count);
+            int second = random.nextInt(count - 1);
+            if (second >= first) second++;
+            int cellIndex1 = swappableCells[from + first];
+            int cellIndex2 = swappableCells[from + second];
+            if (sudokuGrid.getCellValue(cellIndex1) == sudokuGrid.getCellValue(cellIndex2)) continue;
+            int delta = getSwapDelta(sudokuGrid, cellIndex1, cellIndex2);
+            boolean tabu = tabuUntilStep[cellIndex1] > step || tabuUntilStep[cellIndex2] > step;
+            if (delta < bestDelta && (!tabu || excessPairsCount + delta < 0)) {
+                bestDelta = delta;
+                bestCellIndex1 = cellIndex1;
+                bestCellIndex2 = cellIndex2;
             }
         }
-        return result;
+        if (bestCellIndex1 < 0) return 0;
+        swapCellValues(sudokuGrid, bestCellIndex1, bestCellIndex2);
+        tabuUntilStep[bestCellIndex1] = step + TABU_TENURE;
+        tabuUntilStep[bestCellIndex2] = step + TABU_TENURE;
+        return bestDelta;
     }
 
-    private Integer getFitnessValueForSubSquares(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        var result = 0;
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY / 3; i++) {
-            for (int j = 0; j < SudokuGrid.GAME_BOUNDARY / 3; j++) {
-                GridCell[] array = getFlattenedThreeByThreeSubSquare(i, j, gridCells);
-                result += getFitnessValueFor(array);
+    // swaps stay within rows, so only the changeable cells of rows having at least two of them are candidates
+    private int collectSwappableCells(PackedSudokuGrid sudokuGrid) {
+        int swappableRowsCount = 0;
+        int cellsCount = 0;
+        for (int[] row : sudokuGrid.getGeometry().getRows()) {
+            int rowStart = cellsCount;
+            for (int cellIndex : row) {
+                if (!sudokuGrid.isFixed(cellIndex)) swappableCells[cellsCount++] = cellIndex;
             }
+            if (cellsCount - rowStart < 2) {
+                cellsCount = rowStart;
+                continue;
+            }
+            swappableRowOffsets[swappableRowsCount++] = rowStart;
+            swappableRowOffsets[swappableRowsCount] = cellsCount;
         }
-        return result;
+        return swappableRowsCount;
+    }
+
+    // the row keeps its values, so only the two columns and, when they differ, the two boxes change
+    private static int getSwapDelta(PackedSudokuGrid sudokuGrid, int cellIndex1, int cellIndex2) {
+        GridGeometry geometry = sudokuGrid.getGeometry();
+        int value1 = sudokuGrid.getCellValue(cellIndex1);
+        int value2 = sudokuGrid.getCellValue(cellIndex2);
+        int delta = getReplacementDelta(sudokuGrid, geometry.getColumnUnit(cellIndex1), value1, value2)
+                + getReplacementDelta(sudokuGrid, geometry.getColumnUnit(cellIndex2), value2, value1);
+        int boxUnit1 = geometry.getBoxUnit(cellIndex1);
+        int boxUnit2 = geometry.getBoxUnit(cellIndex2);
+        if (boxUnit1 != boxUnit2)
+            delta += getReplacementDelta(sudokuGrid, boxUnit1, value1, value2)
+                    + getReplacementDelta(sudokuGrid, boxUnit2, value2, value1);
+        return delta;
+    }
+
+    private static int getReplacementDelta(PackedSudokuGrid sudokuGrid, int unitIndex, int previousValue, int cellValue) {
+        return sudokuGrid.getValueCountInUnit(unitIndex, cellValue) - (sudokuGrid.getValueCountInUnit(unitIndex, previousValue) - 1);
     }
 
-    private GridCell[] getFlattenedThreeByThreeSubSquare(Integer row, Integer column, GridCell[][] gridCells) {
-        GridCell[] array = new GridCell[9];
-        for (int i = 0; i < 3; i++) {
-            System.arraycopy(gridCells[i + (3 * row)], 3 * column, array, i * 3, 3);
+    private void saveCellValues(PackedSudokuGrid sudokuGrid) {
+        for (int i = 0; i < sudokuGrid.getCellCount(); i++) {
+            fittestCellValues[i] = (byte) sudokuGrid.getCellValue(i);
         }
-        return array;
     }
 
-    @Override
-    public void performUniformRowWiseCrossover(SudokuGrid sudokuGrid1, SudokuGrid sudokuGrid2) {
-        final var gridCells1 = sudokuGrid1.getGridCells();
-        final var gridCells2 = sudokuGrid2.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            int temp = RANDOM.nextInt(10) + 1;
-            if (temp <= 8) {
-                System.arraycopy(gridCells1[i], 0, gridCells2[i], 0, SudokuGrid.GAME_BOUNDARY);
-            }
+    private void restoreCellValues(PackedSudokuGrid sudokuGrid) {
+        for (int i = 0; i < sudokuGrid.getCellCount(); i++) {
+            if (!sudokuGrid.isFixed(i)) sudokuGrid.setCellValue(i, fittestCellValues[i]);
         }
     }
 
     @Override
-    public void performBitWiseMutation(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            for (int j = 0; j < SudokuGrid.GAME_BOUNDARY; j++) {
-                int temp = RANDOM.nextInt(10) + 1;
-                if (temp <= 2 && gridCells[i][j].getCellType() == GridCell.CellType.CHANGEABLE)
-                    gridCells[i][j].setCellValue(RANDOM.nextInt(SudokuGrid.GAME_BOUNDARY) + 1);
-            }
-        }
+    public void performSelection(PackedSudokuGrid[] populationBeforeCrossover, PackedSudokuGrid[] populationAfterMutation,
+                                 PackedSudokuGrid[] nextGeneration) {
+        selectionService.select(populationBeforeCrossover, populationAfterMutation, nextGeneration);
     }
 
     @Override
-    public List<SudokuGrid> performElitismAndGetNextGeneration(List<SudokuGrid> populationBeforeCrossover,
-                                                               List<SudokuGrid> populationAfterMutation) {
-        List<SudokuGrid> sudokuGrids = new ArrayList<>();
-        sudokuGrids.addAll(populationBeforeCrossover);
-        sudokuGrids.addAll(populationAfterMutation);
-        sudokuGrids.sort((g1, g2) -> {
-            if (g1.getGridFitnessValue().equals(g2.getGridFitnessValue())) {
-                return 0;
-            } else if (g1.getGridFitnessValue() < g2.getGridFitnessValue()) {
-                return -1;
-            } else {
-                return 1;
-            }
-        });
-        return sudokuGrids.subList(sudokuGrids.size() / 2, sudokuGrids.size());
+    public double getMutationRate() {
+        return mutationRate;
     }
 
+    @Override
+    public void setMutationRate(double mutationRate) {
+        this.mutationRate = mutationRate;
+    }
+
+    @Override
+    public double getCrossoverRate() {
+        return crossoverRate;
+    }
+
+    @Override
+    public void setCrossoverRate(double crossoverRate) {
+        this.crossoverRate = crossoverRate;
+    }
 }
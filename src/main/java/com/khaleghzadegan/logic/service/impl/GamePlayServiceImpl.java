@@ -1,202 +1,686 @@
 package com.khaleghzadegan.logic.service.impl;
 
-import com.khaleghzadegan.logic.model.GridCell;
-import com.khaleghzadegan.logic.model.SudokuGrid;
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.EncodingStrategy;
+import com.khaleghzadegan.logic.model.GenerationStatistics;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.LocalSearchStrategy;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.model.SolverMetrics;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.ConstraintPropagationService;
 import com.khaleghzadegan.logic.service.GameOperationsService;
-import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.ResumableGamePlayService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class GamePlayServiceImpl implements GamePlayService {
+public class GamePlayServiceImpl extends AbstractGamePlayService implements ResumableGamePlayService {
 
-    private static final Random RANDOM = new Random();
-    private static final Integer FITNESS_GOAL = 972;
-    private static final Integer POPULATION_COUNT = 180;
-    private static final Integer ITERATION_COUNT = 100_000;
+    private static final System.Logger LOGGER = System.getLogger(GamePlayServiceImpl.class.getName());
+    private static final Comparator<PackedSudokuGrid> FITNESS_ORDER = Comparator.comparingInt(PackedSudokuGrid::getGridFitnessValue);
+    private static final Comparator<PackedSudokuGrid> MIGRANT_ORDER = FITNESS_ORDER.reversed();
 
-    private final GameOperationsService gameOperationsService;
+    private final GeneticAlgorithmSettings settings;
+    private final ConstraintPropagationService constraintPropagationService;
+    private final ForkJoinPool islandPool;
 
 
     public GamePlayServiceImpl() {
-        this.gameOperationsService = GameOperationsService.build();
+        this(new GeneticAlgorithmSettings());
+    }
+
+    public GamePlayServiceImpl(GeneticAlgorithmSettings settings) {
+        validateSettings(settings);
+        this.settings = new GeneticAlgorithmSettings(settings);
+        this.constraintPropagationService = ConstraintPropagationService.build();
+        this.islandPool = settings.getIslandCount() > 1
+                ? new ForkJoinPool(Math.min(settings.getIslandCount(), Runtime.getRuntime().availableProcessors()))
+                : null;
+    }
+
+    private static void validateSettings(GeneticAlgorithmSettings settings) {
+        if (settings.getPopulationCount() < 2)
+            throw new InvalidInputException("Population count must be at least 2!");
+        if (settings.getIterationCount() < 1)
+            throw new InvalidInputException("Iteration count must be positive!");
+        if (settings.getIslandCount() < 1)
+            throw new InvalidInputException("Island count must be positive!");
+        if (settings.getMigrationInterval() < 1)
+            throw new InvalidInputException("Migration interval must be positive!");
+        if (settings.getMigrantCount() < 0 || settings.getMigrantCount() > settings.getPopulationCount())
+            throw new InvalidInputException("Migrant count must be between 0 and the population count!");
+        if (settings.getTournamentSize() < 1)
+            throw new InvalidInputException("Tournament size must be positive!");
+        if (!(settings.getMutationRate() >= 0 && settings.getMutationRate() <= 1))
+            throw new InvalidInputException("Mutation rate must be between 0 and 1!");
+        if (!(settings.getCrossoverRate() >= 0 && settings.getCrossoverRate() <= 1))
+            throw new InvalidInputException("Crossover rate must be between 0 and 1!");
+        if (settings.getStagnationPatience() < GeneticAlgorithmSettings.MIN_STAGNATION_PATIENCE
+                || settings.getStagnationPatience() > GeneticAlgorithmSettings.MAX_STAGNATION_PATIENCE)
+            throw new InvalidInputException("Stagnation patience must be between "
+                    + GeneticAlgorithmSettings.MIN_STAGNATION_PATIENCE + " and "
+                    + GeneticAlgorithmSettings.MAX_STAGNATION_PATIENCE + "!");
+        if (settings.getLocalSearchInterval() < 1)
+            throw new InvalidInputException("Local search interval must be positive!");
+        if (settings.getLocalSearchIndividualsCount() < 0
+                || settings.getLocalSearchIndividualsCount() > settings.getPopulationCount())
+            throw new InvalidInputException("Local search individuals count must be between 0 and the population count!");
+        if (settings.getLocalSearchSteps() < 0)
+            throw new InvalidInputException("Local search steps must not be negative!");
+        if (settings.getCheckpointPath() != null
+                && (settings.getCheckpointInterval() == null || settings.getCheckpointInterval().isNegative()))
+            throw new InvalidInputException("Checkpoint interval must not be negative!");
+    }
+
+    @Override
+    public PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        return getAnswerOf(solve(blueprintSudokuGrid, seed, cancellationToken));
+    }
+
+    private PackedSudokuGrid getAnswerOf(SolveResult solveResult) {
+        return solveResult.isSolved() ? solveResult.getSudokuGrid() : null;
     }
 
     @Override
-    public boolean validateBlueprint(SudokuGrid blueprintSudokuGrid) {
-        if (validateRows(blueprintSudokuGrid) && validateColumns(blueprintSudokuGrid))
-            return validateSubSquares(blueprintSudokuGrid);
-        return false;
+    protected Long getConfiguredSeed() {
+        return settings.getSeed();
     }
 
-    private boolean validateRows(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            GridCell[] row = gridCells[i];
-            if (duplicateCellsExists(row)) return false;
+    @Override
+    public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        long start = System.nanoTime();
+        if (!validateBlueprint(blueprintSudokuGrid))
+            return new SolveResult(SolveStatus.INVALID, null, System.nanoTime() - start);
+
+        PackedSudokuGrid propagatedSudokuGrid = blueprintSudokuGrid;
+        if (settings.isConstraintPropagationEnabled()) {
+            propagatedSudokuGrid = constraintPropagationService.propagate(blueprintSudokuGrid);
+            if (propagatedSudokuGrid == null) {
+                solverMetrics.recordSolveCall(false);
+                return new SolveResult(SolveStatus.INVALID, null, System.nanoTime() - start);
+            }
+            if (getGivenNumbersCount(propagatedSudokuGrid) == propagatedSudokuGrid.getCellCount()) {
+                solverMetrics.recordSolveCall(true);
+                return new SolveResult(SolveStatus.SOLVED,
+                        getAnswerBasedOn(blueprintSudokuGrid, propagatedSudokuGrid::getCellValue), System.nanoTime() - start);
+            }
         }
-        return true;
+
+        List<Island> islands = createIslands(propagatedSudokuGrid, seed);
+        return search(blueprintSudokuGrid, seed, islands, 0, cancellationToken, start);
     }
 
-    private boolean validateColumns(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            GridCell[] column = getColumn(i, gridCells);
-            if (duplicateCellsExists(column)) return false;
+    @Override
+    public SolveResult resume(Path checkpointPath, CancellationToken cancellationToken) throws IOException {
+        long start = System.nanoTime();
+        try (DataInputStream input = CheckpointFile.read(checkpointPath)) {
+            checkSearchSettings(checkpointPath, input);
+            PackedSudokuGrid blueprintSudokuGrid = PackedSudokuGrid.fromLine(input.readUTF());
+            long seed = input.readLong();
+            int iterationCounter = input.readInt();
+            PackedSudokuGrid propagatedSudokuGrid = settings.isConstraintPropagationEnabled()
+                    ? constraintPropagationService.propagate(blueprintSudokuGrid)
+                    : blueprintSudokuGrid;
+            if (propagatedSudokuGrid == null)
+                throw new IOException(checkpointPath + " is corrupted!");
+            List<Island> islands = createIslands(propagatedSudokuGrid, seed);
+            for (var island : islands) {
+                island.readFrom(input);
+            }
+            LOGGER.log(System.Logger.Level.INFO, "Resuming {0} with seed {1} after {2} iterations",
+                    blueprintSudokuGrid, Long.toString(seed), iterationCounter);
+            return search(blueprintSudokuGrid, seed, islands, iterationCounter, cancellationToken, start);
         }
-        return true;
     }
 
-    private GridCell[] getColumn(int columnIndex, GridCell[][] gridCells) {
-        GridCell[] array = new GridCell[SudokuGrid.GAME_BOUNDARY];
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            System.arraycopy(gridCells[i], columnIndex, array, i, 1);
+    private SolveResult search(PackedSudokuGrid blueprintSudokuGrid, long seed, List<Island> islands,
+                               int iterationCounter, CancellationToken cancellationToken, long start) {
+        PackedSudokuGrid answer = evolve(blueprintSudokuGrid, seed, islands, iterationCounter, cancellationToken);
+        solverMetrics.recordSolveCall(answer != null);
+        if (answer != null)
+            return new SolveResult(SolveStatus.SOLVED,
+                    getAnswerBasedOn(blueprintSudokuGrid, answer::getCellValue), System.nanoTime() - start);
+        PackedSudokuGrid fittestIndividual = getFittestIndividual(islands);
+        return new SolveResult(SolveStatus.GAVE_UP,
+                getBestEffortBasedOn(blueprintSudokuGrid, fittestIndividual::getCellValue), System.nanoTime() - start);
+    }
+
+    private List<Island> createIslands(PackedSudokuGrid blueprintSudokuGrid, long seed) {
+        int resetPoint = getResetPoint(blueprintSudokuGrid);
+        SeededRandom random = new SeededRandom(seed);
+        List<Island> islands = new ArrayList<>();
+        for (int i = 0; i < settings.getIslandCount(); i++) {
+            islands.add(new Island(i, blueprintSudokuGrid, resetPoint, random.split()));
         }
-        return array;
+        return islands;
     }
 
-    private boolean validateSubSquares(SudokuGrid sudokuGrid) {
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY / 3; i++) {
-            for (int j = 0; j < SudokuGrid.GAME_BOUNDARY / 3; j++) {
-                GridCell[] array = getFlattenedThreeByThreeSubSquare(i, j, gridCells);
-                if (duplicateCellsExists(array)) return false;
+    private PackedSudokuGrid evolve(PackedSudokuGrid blueprintSudokuGrid, long seed, List<Island> islands,
+                                    int iterationCounter, CancellationToken cancellationToken) {
+        Path checkpointPath = settings.getCheckpointPath();
+        long nextCheckpointNanos = checkpointPath != null ? System.nanoTime() + settings.getCheckpointInterval().toNanos() : 0;
+        PackedSudokuGrid answer = null;
+        while (answer == null && iterationCounter < settings.getIterationCount() && !cancellationToken.isCancelled()) {
+            int generations = Math.min(settings.getMigrationInterval(), settings.getIterationCount() - iterationCounter);
+            answer = evolveIslands(islands, generations, cancellationToken);
+            if (answer != null || cancellationToken.isCancelled()) break;
+            iterationCounter += generations;
+            migrate(islands);
+            if (checkpointPath != null && System.nanoTime() - nextCheckpointNanos >= 0) {
+                writeCheckpoint(checkpointPath, blueprintSudokuGrid, seed, islands, iterationCounter);
+                nextCheckpointNanos = System.nanoTime() + settings.getCheckpointInterval().toNanos();
             }
         }
-        return true;
+        if (checkpointPath != null && !cancellationToken.isCancelled())
+            deleteCheckpoint(checkpointPath);
+        return answer;
     }
 
-    private GridCell[] getFlattenedThreeByThreeSubSquare(Integer row, Integer column, GridCell[][] gridCells) {
-        GridCell[] array = new GridCell[9];
-        for (int i = 0; i < 3; i++) {
-            System.arraycopy(gridCells[i + (3 * row)], 3 * column, array, i * 3, 3);
+    private void writeCheckpoint(Path checkpointPath, PackedSudokuGrid blueprintSudokuGrid, long seed,
+                                 List<Island> islands, int iterationCounter) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeSearchSettings(output);
+            output.writeUTF(blueprintSudokuGrid.toString());
+            output.writeLong(seed);
+            output.writeInt(iterationCounter);
+            for (var island : islands) {
+                island.writeTo(output);
+            }
+            output.flush();
+            CheckpointFile.write(checkpointPath, bytes.toByteArray());
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not write checkpoint " + checkpointPath, e);
         }
-        return array;
     }
 
-    private boolean duplicateCellsExists(GridCell[] array) {
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            for (int j = i + 1; j < SudokuGrid.GAME_BOUNDARY; j++) {
-                if (gridCellsAreFixedAndHaveEqualValue(array[i], array[j])) return true;
-            }
+    private void deleteCheckpoint(Path checkpointPath) {
+        try {
+            Files.deleteIfExists(checkpointPath);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not delete checkpoint " + checkpointPath, e);
         }
-        return false;
     }
 
-    private boolean gridCellsAreFixedAndHaveEqualValue(GridCell gc1, GridCell gc2) {
-        return gc1.getCellType().equals(GridCell.CellType.FIXED) &&
-                gc2.getCellType().equals(GridCell.CellType.FIXED) &&
-                gc1.getCellValue().equals(gc2.getCellValue());
+    // seed, budget and checkpointing may change between runs without breaking an exact resume
+    private Map<String, Object> getSearchSettings() {
+        Map<String, Object> searchSettings = new LinkedHashMap<>();
+        searchSettings.put("populationCount", settings.getPopulationCount());
+        searchSettings.put("islandCount", settings.getIslandCount());
+        searchSettings.put("migrationInterval", settings.getMigrationInterval());
+        searchSettings.put("migrantCount", settings.getMigrantCount());
+        searchSettings.put("constraintPropagationEnabled", settings.isConstraintPropagationEnabled());
+        searchSettings.put("selectionStrategy", settings.getSelectionStrategy());
+        searchSettings.put("tournamentSize", settings.getTournamentSize());
+        searchSettings.put("mutationRate", settings.getMutationRate());
+        searchSettings.put("crossoverRate", settings.getCrossoverRate());
+        searchSettings.put("adaptiveControlEnabled", settings.isAdaptiveControlEnabled());
+        searchSettings.put("stagnationPatience", settings.getStagnationPatience());
+        searchSettings.put("encodingStrategy", settings.getEncodingStrategy());
+        searchSettings.put("localSearchStrategy", settings.getLocalSearchStrategy());
+        searchSettings.put("localSearchInterval", settings.getLocalSearchInterval());
+        searchSettings.put("localSearchIndividualsCount", settings.getLocalSearchIndividualsCount());
+        searchSettings.put("localSearchSteps", settings.getLocalSearchSteps());
+        searchSettings.put("cloneReplacementEnabled", settings.isCloneReplacementEnabled());
+        return searchSettings;
     }
 
-    @Override
-    public SudokuGrid tryToSolve(SudokuGrid blueprintSudokuGrid) {
-        if (!validateBlueprint(blueprintSudokuGrid))
-            return null;
+    private void writeSearchSettings(DataOutput output) throws IOException {
+        Map<String, Object> searchSettings = getSearchSettings();
+        output.writeInt(searchSettings.size());
+        for (var setting : searchSettings.entrySet()) {
+            output.writeUTF(setting.getKey());
+            output.writeUTF(String.valueOf(setting.getValue()));
+        }
+    }
 
-        int resetPoint = getResetPoint(blueprintSudokuGrid);
-        int iterationCounter = 0;
-        int resetPointCounter = 0;
-        SudokuGrid answer;
-
-        while (iterationCounter < ITERATION_COUNT) {
-            var population = generateInitialPopulation(blueprintSudokuGrid);
-            while (resetPointCounter < resetPoint) {
-                answer = removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist(population);
-                if (answer != null) return answer;
-                var populationBeforeCrossover = clonePopulation(population);
-                performCrossover(population);
-                answer = removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist(population);
-                if (answer != null) return answer;
-                population.forEach(gameOperationsService::performBitWiseMutation);
-                var populationAfterMutation = clonePopulation(population);
-                answer = removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist(population);
-                if (answer != null) return answer;
-                population = gameOperationsService.performElitismAndGetNextGeneration(populationBeforeCrossover, populationAfterMutation);
-                iterationCounter++;
-                resetPointCounter++;
-            }
-            resetPointCounter = 0;
+    private void checkSearchSettings(Path checkpointPath, DataInput input) throws IOException {
+        Map<String, String> savedSettings = new HashMap<>();
+        for (int i = input.readInt(); i > 0; i--) {
+            savedSettings.put(input.readUTF(), input.readUTF());
         }
-        return null;
+        Map<String, Object> searchSettings = getSearchSettings();
+        for (var setting : searchSettings.entrySet()) {
+            String savedValue = savedSettings.get(setting.getKey());
+            String value = String.valueOf(setting.getValue());
+            if (!value.equals(savedValue))
+                throw new InvalidInputException("Checkpoint " + checkpointPath + " was written with " + setting.getKey()
+                        + " " + savedValue + ", not " + value + "!");
+        }
+        if (savedSettings.size() != searchSettings.size())
+            throw new InvalidInputException("Checkpoint " + checkpointPath + " was written with other settings!");
     }
 
-    private void performCrossover(List<SudokuGrid> population) {
-        for (int i = 0; i < POPULATION_COUNT - 1; i++) {
-            gameOperationsService.performUniformRowWiseCrossover(population.get(i), population.get(i + 1));
+    private PackedSudokuGrid getFittestIndividual(List<Island> islands) {
+        PackedSudokuGrid fittestIndividual = islands.get(0).fittestIndividual;
+        for (var island : islands) {
+            if (island.fittestIndividual.getGridFitnessValue() > fittestIndividual.getGridFitnessValue())
+                fittestIndividual = island.fittestIndividual;
         }
+        return fittestIndividual.getGridFitnessValue() < 0 ? islands.get(0).population[0] : fittestIndividual;
     }
 
-    private List<SudokuGrid> clonePopulation(List<SudokuGrid> population) {
-        List<SudokuGrid> clonedPopulation = new ArrayList<>();
-        for (var sudokuGrid : population) {
-            clonedPopulation.add(new SudokuGrid(sudokuGrid));
+    private PackedSudokuGrid evolveIslands(List<Island> islands, int generations, CancellationToken cancellationToken) {
+        AtomicInteger solvedGeneration = new AtomicInteger(Integer.MAX_VALUE);
+        if (islandPool == null)
+            return islands.get(0).evolve(generations, solvedGeneration, cancellationToken);
+
+        List<ForkJoinTask<PackedSudokuGrid>> tasks = new ArrayList<>();
+        for (var island : islands) {
+            tasks.add(islandPool.submit(() -> island.evolve(generations, solvedGeneration, cancellationToken)));
         }
-        return clonedPopulation;
+        PackedSudokuGrid answer = null;
+        int answerGeneration = Integer.MAX_VALUE;
+        for (int i = 0; i < islands.size(); i++) {
+            PackedSudokuGrid islandAnswer = tasks.get(i).join();
+            if (islandAnswer != null && islands.get(i).answerGeneration < answerGeneration) {
+                answer = islandAnswer;
+                answerGeneration = islands.get(i).answerGeneration;
+            }
+        }
+        return answer;
     }
 
-    private SudokuGrid removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist(List<SudokuGrid> population) {
-        population.forEach(gameOperationsService::removeRepetition);
-        population.forEach(gameOperationsService::calculateAndUpdateFitnessValue);
-        return searchForSolutionAndGetIfExists(population);
+    private void migrate(List<Island> islands) {
+        if (islands.size() < 2 || settings.getMigrantCount() == 0)
+            return;
+        for (var island : islands) {
+            island.collectMigrants();
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            islands.get((i + 1) % islands.size()).replaceWorstIndividuals(islands.get(i).migrants);
+        }
+        solverMetrics.recordMigration();
     }
 
+    private class Island {
+        private final int islandIndex;
+        private final SeededRandom random;
+        private final GameOperationsService gameOperationsService;
+        private final PackedSudokuGrid blueprintSudokuGrid;
+        private final int resetPoint;
+        private final AdaptiveController adaptiveController;
+        private final boolean rowPermutations;
+        private final boolean localSearch;
+        private final PackedSudokuGrid[] population;
+        private final PackedSudokuGrid[] populationBeforeCrossover;
+        private final PackedSudokuGrid[] populationAfterMutation;
+        private final PackedSudokuGrid[] sortedPopulation;
+        private final PackedSudokuGrid[] migrants;
+        private final PackedSudokuGrid fittestIndividual;
+        private final int[] valueCounts = new int[GridGeometry.MAX_SIZE + 1];
+        private final boolean[] evaluationPending;
+        private final long[] selectedHashes;
+        private int resetPointCounter;
+        private int answerGeneration;
+        private long generationCounter;
+        private final long startNanos = System.nanoTime();
 
-    private List<SudokuGrid> generateInitialPopulation(SudokuGrid blueprintSudokuGrid) {
-        List<SudokuGrid> population = new ArrayList<>();
-        for (int i = 0; i < POPULATION_COUNT; i++) {
-            population.add(getNewSudokuGridBasedOn(blueprintSudokuGrid));
+        Island(int islandIndex, PackedSudokuGrid blueprintSudokuGrid, int resetPoint, SeededRandom random) {
+            this.islandIndex = islandIndex;
+            this.random = random;
+            this.gameOperationsService = GameOperationsService.build(settings, random);
+            this.blueprintSudokuGrid = blueprintSudokuGrid;
+            this.resetPoint = resetPoint;
+            this.rowPermutations = settings.getEncodingStrategy() == EncodingStrategy.ROW_PERMUTATIONS;
+            this.localSearch = settings.getLocalSearchStrategy() != LocalSearchStrategy.NONE;
+            this.adaptiveController = settings.isAdaptiveControlEnabled()
+                    ? new AdaptiveController(settings.getMutationRate(), settings.getCrossoverRate(),
+                    settings.getStagnationPatience(), this::getDiversity)
+                    : null;
+            this.population = allocatePopulation(settings.getPopulationCount());
+            this.populationBeforeCrossover = allocatePopulation(settings.getPopulationCount());
+            this.populationAfterMutation = allocatePopulation(settings.getPopulationCount());
+            this.sortedPopulation = new PackedSudokuGrid[settings.getPopulationCount()];
+            this.migrants = allocatePopulation(settings.getMigrantCount());
+            this.fittestIndividual = new PackedSudokuGrid(blueprintSudokuGrid);
+            this.fittestIndividual.setGridFitnessValue(-1);
+            this.evaluationPending = new boolean[settings.getPopulationCount()];
+            this.selectedHashes = new long[Integer.highestOneBit(settings.getPopulationCount()) << 2];
+            generateInitialPopulation();
+        }
+
+        private PackedSudokuGrid[] allocatePopulation(int count) {
+            PackedSudokuGrid[] individuals = new PackedSudokuGrid[count];
+            for (int i = 0; i < count; i++) {
+                individuals[i] = new PackedSudokuGrid(blueprintSudokuGrid);
+            }
+            solverMetrics.recordIndividualsAllocated(count);
+            return individuals;
+        }
+
+        // stops once another island has solved the puzzle in an earlier generation, so that the island solving
+        // first (lowest index on ties) wins regardless of thread scheduling
+        PackedSudokuGrid evolve(int generations, AtomicInteger solvedGeneration, CancellationToken cancellationToken) {
+            PackedSudokuGrid answer;
+            for (int i = 0; i < generations && i <= solvedGeneration.get() && !cancellationToken.isCancelled(); i++) {
+                if (adaptiveController != null ? adaptiveController.shouldReset() : resetPointCounter == resetPoint) {
+                    reset();
+                }
+                answer = removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist();
+                if (answer != null) return markSolved(answer, i, solvedGeneration);
+                copyPopulation(population, populationBeforeCrossover);
+                long start = System.nanoTime();
+                performCrossover();
+                solverMetrics.recordOperatorNanos(SolverMetrics.Operator.CROSSOVER, System.nanoTime() - start);
+                answer = removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist();
+                if (answer != null) return markSolved(answer, i, solvedGeneration);
+                start = System.nanoTime();
+                for (var sudokuGrid : population) {
+                    if (rowPermutations)
+                        gameOperationsService.performSwapMutation(sudokuGrid);
+                    else
+                        gameOperationsService.performBitWiseMutation(sudokuGrid);
+                }
+                solverMetrics.recordOperatorNanos(SolverMetrics.Operator.MUTATION, System.nanoTime() - start);
+                copyPopulation(population, populationAfterMutation);
+                answer = removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist();
+                if (answer != null) return markSolved(answer, i, solvedGeneration);
+                start = System.nanoTime();
+                gameOperationsService.performSelection(populationBeforeCrossover, populationAfterMutation, population);
+                findClones();
+                solverMetrics.recordOperatorNanos(SolverMetrics.Operator.SELECTION, System.nanoTime() - start);
+                if (localSearch && (generationCounter + 1) % settings.getLocalSearchInterval() == 0) {
+                    answer = refineFittestIndividuals();
+                    if (answer != null) return markSolved(answer, i, solvedGeneration);
+                }
+                rememberFittestIndividual();
+                resetPointCounter++;
+                generationCounter++;
+                if (adaptiveController != null) {
+                    adaptiveController.onGeneration(getBestFitnessValue());
+                    applyAdaptiveRates();
+                }
+                solverMetrics.recordGeneration();
+                if (!solverProgressListeners.isEmpty())
+                    notifyGeneration();
+            }
+            return null;
+        }
+
+        // clones are told apart by their Zobrist hashes in an open-addressing table at most half full
+        private void findClones() {
+            Arrays.fill(selectedHashes, 0);
+            int mask = selectedHashes.length - 1;
+            int clonesCount = 0;
+            for (var sudokuGrid : population) {
+                long hash = sudokuGrid.getZobristHash() == 0 ? 1 : sudokuGrid.getZobristHash();
+                int slot = (int) (hash ^ (hash >>> 32)) & mask;
+                while (selectedHashes[slot] != 0 && selectedHashes[slot] != hash) {
+                    slot = (slot + 1) & mask;
+                }
+                if (selectedHashes[slot] == 0) {
+                    selectedHashes[slot] = hash;
+                    continue;
+                }
+                clonesCount++;
+                if (settings.isCloneReplacementEnabled())
+                    randomize(sudokuGrid);
+            }
+            solverMetrics.recordSelection(population.length, clonesCount);
+        }
+
+        private PackedSudokuGrid refineFittestIndividuals() {
+            long start = System.nanoTime();
+            sortPopulation(MIGRANT_ORDER);
+            for (int i = 0; i < settings.getLocalSearchIndividualsCount(); i++) {
+                gameOperationsService.performLocalSearch(sortedPopulation[i]);
+            }
+            solverMetrics.recordOperatorNanos(SolverMetrics.Operator.LOCAL_SEARCH, System.nanoTime() - start);
+            return searchForSolutionAndGetIfExists(population);
+        }
+
+        private void reset() {
+            if (!solverProgressListeners.isEmpty()) {
+                int bestFitnessValue = getBestFitnessValue();
+                solverProgressListeners.forEach(listener -> listener.onReset(islandIndex, generationCounter, bestFitnessValue));
+            }
+            generateInitialPopulation();
+            resetPointCounter = 0;
+            if (adaptiveController != null) {
+                adaptiveController.onReset();
+                applyAdaptiveRates();
+            }
+            solverMetrics.recordReset();
+        }
+
+        private void applyAdaptiveRates() {
+            gameOperationsService.setMutationRate(adaptiveController.getMutationRate());
+            gameOperationsService.setCrossoverRate(adaptiveController.getCrossoverRate());
+        }
+
+        private PackedSudokuGrid markSolved(PackedSudokuGrid answer, int generation, AtomicInteger solvedGeneration) {
+            answerGeneration = generation;
+            solvedGeneration.accumulateAndGet(generation, Math::min);
+            solverProgressListeners.forEach(listener -> listener.onSolved(islandIndex, generationCounter));
+            return new PackedSudokuGrid(answer);
+        }
+
+        private void rememberFittestIndividual() {
+            PackedSudokuGrid fittestOfGeneration = population[0];
+            for (var sudokuGrid : population) {
+                if (sudokuGrid.getGridFitnessValue() > fittestOfGeneration.getGridFitnessValue())
+                    fittestOfGeneration = sudokuGrid;
+            }
+            if (fittestOfGeneration.getGridFitnessValue() > fittestIndividual.getGridFitnessValue())
+                fittestIndividual.copyFrom(fittestOfGeneration);
+        }
+
+        private int getBestFitnessValue() {
+            int bestFitnessValue = 0;
+            for (var sudokuGrid : population) {
+                bestFitnessValue = Math.max(bestFitnessValue, sudokuGrid.getGridFitnessValue());
+            }
+            return bestFitnessValue;
+        }
+
+        private void notifyGeneration() {
+            long fitnessValuesSum = 0;
+            for (var sudokuGrid : population) {
+                fitnessValuesSum += sudokuGrid.getGridFitnessValue();
+            }
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+            var generationStatistics = new GenerationStatistics(islandIndex, generationCounter, getBestFitnessValue(),
+                    (double) fitnessValuesSum / population.length, getDiversity(), generationCounter / elapsedSeconds);
+            solverProgressListeners.forEach(listener -> listener.onGeneration(generationStatistics));
+        }
+
+        private double getDiversity() {
+            int changeableCellsCount = 0;
+            long disagreements = 0;
+            for (int i = 0; i < blueprintSudokuGrid.getCellCount(); i++) {
+                if (blueprintSudokuGrid.isFixed(i)) continue;
+                Arrays.fill(valueCounts, 0);
+                int mostCommonValueCount = 0;
+                for (var sudokuGrid : population) {
+                    mostCommonValueCount = Math.max(mostCommonValueCount, ++valueCounts[sudokuGrid.getCellValue(i)]);
+                }
+                disagreements += population.length - mostCommonValueCount;
+                changeableCellsCount++;
+            }
+            return changeableCellsCount == 0 ? 0 : (double) disagreements / ((long) changeableCellsCount * population.length);
+        }
+
+        // the repair fixes rows before columns, so it is a no-op exactly when fixing the columns left the rows intact
+        private boolean hasRowRepetitions(PackedSudokuGrid sudokuGrid) {
+            // rows are the first units of the geometry
+            for (int row = 0; row < sudokuGrid.getGeometry().getSize(); row++) {
+                if (sudokuGrid.getRepeatedPairsCountInUnit(row) > 0) return true;
+            }
+            return false;
+        }
+
+        void writeTo(DataOutput output) throws IOException {
+            output.writeLong(random.getState0());
+            output.writeLong(random.getState1());
+            output.writeInt(resetPointCounter);
+            output.writeLong(generationCounter);
+            writeIndividual(output, fittestIndividual);
+            for (var sudokuGrid : population) {
+                writeIndividual(output, sudokuGrid);
+            }
+            if (adaptiveController != null)
+                adaptiveController.writeTo(output);
+        }
+
+        void readFrom(DataInput input) throws IOException {
+            random.setState(input.readLong(), input.readLong());
+            resetPointCounter = input.readInt();
+            generationCounter = input.readLong();
+            readIndividual(input, fittestIndividual);
+            for (var sudokuGrid : population) {
+                readIndividual(input, sudokuGrid);
+            }
+            if (adaptiveController != null) {
+                adaptiveController.readFrom(input);
+                applyAdaptiveRates();
+            }
+        }
+
+        private void writeIndividual(DataOutput output, PackedSudokuGrid sudokuGrid) throws IOException {
+            for (int i = 0; i < sudokuGrid.getCellCount(); i++) {
+                output.writeByte(sudokuGrid.getCellValue(i));
+            }
+            output.writeInt(sudokuGrid.getGridFitnessValue());
+        }
+
+        private void readIndividual(DataInput input, PackedSudokuGrid sudokuGrid) throws IOException {
+            sudokuGrid.copyFrom(blueprintSudokuGrid);
+            for (int i = 0; i < sudokuGrid.getCellCount(); i++) {
+                int cellValue = input.readUnsignedByte();
+                if (!sudokuGrid.isFixed(i))
+                    sudokuGrid.setCellValue(i, cellValue);
+            }
+            sudokuGrid.setGridFitnessValue(input.readInt());
+        }
+
+        void collectMigrants() {
+            sortPopulation(MIGRANT_ORDER);
+            copyPopulation(sortedPopulation, migrants);
+        }
+
+        void replaceWorstIndividuals(PackedSudokuGrid[] migrants) {
+            sortPopulation(FITNESS_ORDER);
+            for (int i = 0; i < migrants.length; i++) {
+                sortedPopulation[i].copyFrom(migrants[i]);
+            }
+        }
+
+        private void sortPopulation(Comparator<PackedSudokuGrid> order) {
+            System.arraycopy(population, 0, sortedPopulation, 0, population.length);
+            Arrays.sort(sortedPopulation, order);
         }
-        return population;
-    }
 
-    private SudokuGrid getNewSudokuGridBasedOn(SudokuGrid blueprintSudokuGrid) {
-        SudokuGrid sudokuGrid = new SudokuGrid();
-        final var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            for (int j = 0; j < SudokuGrid.GAME_BOUNDARY; j++) {
-                gridCells[i][j] = getNewGridCellBasedOn(blueprintSudokuGrid.getGridCells()[i][j]);
+        private void generateInitialPopulation() {
+            for (var sudokuGrid : population) {
+                randomize(sudokuGrid);
             }
         }
-        return sudokuGrid;
+
+        private void randomize(PackedSudokuGrid sudokuGrid) {
+            sudokuGrid.copyFrom(blueprintSudokuGrid);
+            if (rowPermutations) {
+                gameOperationsService.generateRowPermutations(sudokuGrid);
+                return;
+            }
+            int size = sudokuGrid.getGeometry().getSize();
+            for (int i = 0; i < sudokuGrid.getCellCount(); i++) {
+                if (!sudokuGrid.isFixed(i))
+                    sudokuGrid.setCellValue(i, random.nextInt(size) + 1);
+            }
+        }
+
+        private void performCrossover() {
+            if (rowPermutations) {
+                for (int i = 0; i < population.length - 1; i += 2) {
+                    gameOperationsService.performRowExchangeCrossover(population[i], population[i + 1]);
+                }
+                return;
+            }
+            for (int i = 0; i < population.length - 1; i++) {
+                gameOperationsService.performUniformRowWiseCrossover(population[i], population[i + 1]);
+            }
+        }
+
+        private PackedSudokuGrid removeRepetitionAndUpdateFitnessValuesAndGetSolutionIfExist() {
+            long start = System.nanoTime();
+            // individuals unchanged since their last repair would be repaired and scored to the same result
+            int evaluatedCount = 0;
+            for (int i = 0; i < population.length; i++) {
+                evaluationPending[i] = !population[i].isUnchangedSinceEvaluation();
+                if (evaluationPending[i]) evaluatedCount++;
+            }
+            if (!rowPermutations) {
+                for (int i = 0; i < population.length; i++) {
+                    if (evaluationPending[i]) gameOperationsService.removeRepetition(population[i]);
+                }
+            }
+            long repaired = System.nanoTime();
+            for (int i = 0; i < population.length; i++) {
+                if (!evaluationPending[i]) continue;
+                gameOperationsService.calculateAndUpdateFitnessValue(population[i]);
+                if (rowPermutations || !hasRowRepetitions(population[i]))
+                    population[i].markEvaluated();
+            }
+            solverMetrics.recordOperatorNanos(SolverMetrics.Operator.REMOVE_REPETITION, repaired - start);
+            solverMetrics.recordOperatorNanos(SolverMetrics.Operator.FITNESS_EVALUATION, System.nanoTime() - repaired);
+            solverMetrics.recordFitnessEvaluations(evaluatedCount);
+            solverMetrics.recordEvaluationsSkipped(population.length - evaluatedCount);
+            return searchForSolutionAndGetIfExists(population);
+        }
     }
 
-    private GridCell getNewGridCellBasedOn(GridCell gridCell) {
-        if (gridCell.getCellType().equals(GridCell.CellType.FIXED)) {
-            var value = gridCell.getCellValue();
-            return new GridCell(value, GridCell.CellType.FIXED);
-        } else {
-            var value = RANDOM.nextInt(SudokuGrid.GAME_BOUNDARY) + 1;
-            return new GridCell(value, GridCell.CellType.CHANGEABLE);
+    private void copyPopulation(PackedSudokuGrid[] source, PackedSudokuGrid[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i].copyFrom(source[i]);
         }
+        solverMetrics.recordAllocationsAvoided(target.length);
     }
 
-    private Integer getResetPoint(SudokuGrid blueprintSudokuGrid) {
-        final var gridCells = blueprintSudokuGrid.getGridCells();
-        Integer givenNumbers = getGivenNumbersCount(gridCells);
-        if (givenNumbers <= 27) {
+    // the thresholds were tuned as 27, 29 and 31 givens of 81 cells and apply to every size as shares of given cells
+    private Integer getResetPoint(PackedSudokuGrid blueprintSudokuGrid) {
+        double givenCellsShare = (double) getGivenNumbersCount(blueprintSudokuGrid) / blueprintSudokuGrid.getCellCount();
+        if (givenCellsShare <= 27 / 81.0) {
             return 2000;
-        } else if (givenNumbers <= 29) {
+        } else if (givenCellsShare <= 29 / 81.0) {
             return 350;
-        } else if (givenNumbers <= 31) {
+        } else if (givenCellsShare <= 31 / 81.0) {
             return 300;
         } else return 200;
     }
 
-    private Integer getGivenNumbersCount(GridCell[][] gridCells) {
+    private Integer getGivenNumbersCount(PackedSudokuGrid sudokuGrid) {
         Integer counter = 0;
-        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
-            for (int j = 0; j < SudokuGrid.GAME_BOUNDARY; j++) {
-                if (gridCells[i][j].getCellType().equals(GridCell.CellType.FIXED)) counter++;
-            }
+        for (long fixedCells : sudokuGrid.getFixedCellMask()) {
+            counter += Long.bitCount(fixedCells);
         }
         return counter;
     }
 
-    private SudokuGrid searchForSolutionAndGetIfExists(List<SudokuGrid> population) {
+    private PackedSudokuGrid searchForSolutionAndGetIfExists(PackedSudokuGrid[] population) {
         for (var sudokuGrid : population) {
-            if (sudokuGrid.getGridFitnessValue().equals(FITNESS_GOAL)) {
+            if (sudokuGrid.getGridFitnessValue() == sudokuGrid.getMaxFitnessValue()) {
                 return sudokuGrid;
             }
         }
@@ -0,0 +1,100 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.GamePlayService;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PortfolioGamePlayServiceImpl extends AbstractGamePlayService {
+
+    private static final System.Logger LOGGER = System.getLogger(PortfolioGamePlayServiceImpl.class.getName());
+
+    private final List<GamePlayService> gamePlayServices;
+    private final ExecutorService executorService;
+
+    public PortfolioGamePlayServiceImpl(List<GamePlayService> gamePlayServices) {
+        if (gamePlayServices.isEmpty())
+            throw new InvalidInputException("Portfolio needs at least one solver!");
+        this.gamePlayServices = List.copyOf(gamePlayServices);
+        this.executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // the first seed configured on an engine seeds the whole race, which derives the seed of every engine from it
+    @Override
+    protected Long getConfiguredSeed() {
+        for (var gamePlayService : gamePlayServices) {
+            if (gamePlayService instanceof AbstractGamePlayService) {
+                Long configuredSeed = ((AbstractGamePlayService) gamePlayService).getConfiguredSeed();
+                if (configuredSeed != null) return configuredSeed;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public PackedSudokuGrid tryToSolve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        SolveResult solveResult = solve(blueprintSudokuGrid, seed, cancellationToken);
+        return solveResult.isSolved() ? solveResult.getSudokuGrid() : null;
+    }
+
+    // the first conclusive result wins, a solution or an exact engine's proof that there is none; otherwise the fittest
+    // best-effort result of the engines that did not fail
+    @Override
+    public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+        long start = System.nanoTime();
+        if (!validateBlueprint(blueprintSudokuGrid))
+            return new SolveResult(SolveStatus.INVALID, null, System.nanoTime() - start);
+
+        CancellationToken raceCancellationToken = new CancellationToken(cancellationToken);
+        ExecutorCompletionService<SolveResult> completionService = new ExecutorCompletionService<>(executorService);
+        SeededRandom random = new SeededRandom(seed);
+        for (var gamePlayService : gamePlayServices) {
+            long solverSeed = random.nextLong();
+            completionService.submit(() -> gamePlayService.solve(blueprintSudokuGrid, solverSeed, raceCancellationToken));
+        }
+
+        try {
+            SolveResult bestEffortResult = null;
+            Throwable failure = null;
+            for (int i = 0; i < gamePlayServices.size(); i++) {
+                SolveResult solveResult;
+                try {
+                    solveResult = completionService.take().get();
+                } catch (ExecutionException e) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Portfolio engine failed, waiting for the others", e.getCause());
+                    failure = e.getCause();
+                    continue;
+                }
+                if (solveResult.getSolveStatus().isConclusive()) {
+                    solverMetrics.recordSolveCall(solveResult.isSolved());
+                    return new SolveResult(solveResult.getSolveStatus(), solveResult.getSudokuGrid(),
+                            System.nanoTime() - start);
+                }
+                if (bestEffortResult == null || solveResult.getFitnessValue() > bestEffortResult.getFitnessValue())
+                    bestEffortResult = solveResult;
+            }
+            if (bestEffortResult == null)
+                throw new IllegalStateException("Every portfolio solver failed!", failure);
+            solverMetrics.recordSolveCall(false);
+            return new SolveResult(bestEffortResult.getSolveStatus(), bestEffortResult.getSudokuGrid(), System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SolveResult(SolveStatus.GAVE_UP, null, System.nanoTime() - start);
+        } finally {
+            raceCancellationToken.cancel();
+        }
+    }
+}
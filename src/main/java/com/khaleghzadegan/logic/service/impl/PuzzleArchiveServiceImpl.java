@@ -0,0 +1,98 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.PuzzleArchive;
+import com.khaleghzadegan.logic.model.PuzzleArchiveWriter;
+import com.khaleghzadegan.logic.service.PuzzleArchiveService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PuzzleArchiveServiceImpl implements PuzzleArchiveService {
+
+    // the archive keeps solutions when any line is a batch output line, so a first pass settles that before records are written;
+    // puzzles without a solution are then stored as unsolved
+    @Override
+    public long toArchive(Path textInput, Path archiveOutput) throws IOException {
+        boolean solutions = hasSolutions(textInput);
+        try (LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(textInput, StandardCharsets.US_ASCII))) {
+            String[] fields = readFields(reader);
+            if (fields == null)
+                throw new InvalidInputException(textInput + " holds no puzzles!");
+            PackedSudokuGrid puzzle = parse(fields[0], reader);
+            try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(archiveOutput, puzzle.getGeometry(), solutions)) {
+                do {
+                    boolean solved = fields.length > 1 && !fields[1].isEmpty();
+                    PackedSudokuGrid solution = solved ? parse(fields[1], reader) : null;
+                    try {
+                        writer.write(puzzle, solution);
+                    } catch (InvalidInputException e) {
+                        throw new InvalidInputException("Line " + reader.getLineNumber() + ": " + e.getMessage(), e);
+                    }
+                    fields = readFields(reader);
+                    if (fields != null) puzzle = parse(fields[0], reader);
+                } while (fields != null);
+                writer.finish();
+                return writer.getCount();
+            }
+        }
+    }
+
+    @Override
+    public long toText(Path archiveInput, Path textOutput) throws IOException {
+        PuzzleArchive puzzleArchive = PuzzleArchive.open(archiveInput);
+        int cellCount = puzzleArchive.getGeometry().getCellCount();
+        char[] line = new char[puzzleArchive.hasSolutions() ? 2 * cellCount + 1 : cellCount];
+        try (BufferedWriter writer = Files.newBufferedWriter(textOutput, StandardCharsets.US_ASCII)) {
+            for (long record = 0; record < puzzleArchive.getCount(); record++) {
+                for (int i = 0; i < cellCount; i++) {
+                    line[i] = puzzleArchive.getGeometry().toSymbol(puzzleArchive.getCellValue(record, i));
+                }
+                int length = cellCount;
+                if (puzzleArchive.hasSolutions()) {
+                    line[length++] = ',';
+                    if (puzzleArchive.isSolved(record)) {
+                        for (int i = 0; i < cellCount; i++) {
+                            line[length++] = puzzleArchive.getGeometry().toSymbol(puzzleArchive.getSolutionCellValue(record, i));
+                        }
+                    }
+                }
+                writer.write(line, 0, length);
+                writer.newLine();
+            }
+        }
+        return puzzleArchive.getCount();
+    }
+
+    private static boolean hasSolutions(Path textInput) throws IOException {
+        try (LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(textInput, StandardCharsets.US_ASCII))) {
+            String[] fields;
+            while ((fields = readFields(reader)) != null) {
+                if (fields.length > 1) return true;
+            }
+            return false;
+        }
+    }
+
+    private static String[] readFields(LineNumberReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (!line.isEmpty() && !line.startsWith("#")) return line.split(",", -1);
+        }
+        return null;
+    }
+
+    private static PackedSudokuGrid parse(String puzzle, LineNumberReader reader) {
+        try {
+            return PackedSudokuGrid.fromLine(puzzle);
+        } catch (InvalidInputException e) {
+            throw new InvalidInputException("Line " + reader.getLineNumber() + ": " + e.getMessage(), e);
+        }
+    }
+}
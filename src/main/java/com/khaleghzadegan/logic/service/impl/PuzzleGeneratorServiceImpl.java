@@ -0,0 +1,176 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.PuzzleGeneratorService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PuzzleGeneratorServiceImpl implements PuzzleGeneratorService {
+
+    private static final int IN_FLIGHT_PUZZLES_PER_THREAD = 64;
+    private static final int MAX_ATTEMPTS = 100;
+    private static final ThreadLocal<BitmaskSearch> BITMASK_SEARCH = ThreadLocal.withInitial(BitmaskSearch::new);
+
+    private final int threadsCount;
+    private final long seed;
+
+    public PuzzleGeneratorServiceImpl(int threadsCount, long seed) {
+        if (threadsCount < 1)
+            throw new InvalidInputException("Threads count must be positive!");
+        this.threadsCount = threadsCount;
+        this.seed = seed;
+    }
+
+    @Override
+    public PackedSudokuGrid generate(GridGeometry geometry, int givensCount, long seed) {
+        if (givensCount < 0 || givensCount > geometry.getCellCount())
+            throw new InvalidInputException("Givens count must be between 0 and " + geometry.getCellCount() + "!");
+        SeededRandom random = new SeededRandom(seed);
+        BitmaskSearch bitmaskSearch = BITMASK_SEARCH.get();
+        int[] cellValues = new int[geometry.getCellCount()];
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (fillCompleteGrid(geometry, random, bitmaskSearch, cellValues)
+                    && removeClues(geometry, givensCount, random, bitmaskSearch, cellValues))
+                return toPuzzle(geometry, cellValues);
+        }
+        return null;
+    }
+
+    @Override
+    public long generate(GridGeometry geometry, int givensCount, long count, Path output) throws IOException {
+        long writtenCount = 0;
+        int maxInFlightPuzzles = threadsCount * IN_FLIGHT_PUZZLES_PER_THREAD;
+        Deque<Future<PackedSudokuGrid>> inFlightPuzzles = new ArrayDeque<>(maxInFlightPuzzles);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadsCount);
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            for (long puzzleIndex = 0; puzzleIndex < count; puzzleIndex++) {
+                long puzzleSeed = new SeededRandom(seed + puzzleIndex).nextLong();
+                inFlightPuzzles.addLast(executorService.submit(() -> generate(geometry, givensCount, puzzleSeed)));
+                if (inFlightPuzzles.size() >= maxInFlightPuzzles)
+                    writtenCount += writePuzzle(writer, inFlightPuzzles.removeFirst());
+            }
+            while (!inFlightPuzzles.isEmpty()) {
+                writtenCount += writePuzzle(writer, inFlightPuzzles.removeFirst());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        return writtenCount;
+    }
+
+    // the diagonal boxes (or the first row, for oblong boxes) never constrain each other, so any random filling of
+    // them completes; shuffling values, bands, stacks and their lines then hides the search's low-values-first bias
+    private static boolean fillCompleteGrid(GridGeometry geometry, SeededRandom random, BitmaskSearch bitmaskSearch,
+                                            int[] cellValues) {
+        int size = geometry.getSize();
+        int[] givens = new int[cellValues.length];
+        if (geometry.getBoxRows() == geometry.getBoxColumns()) {
+            for (int i = 0; i < geometry.getBoxRows(); i++) {
+                fillUnit(geometry.getBoxes()[i * (geometry.getBoxRows() + 1)], random, givens);
+            }
+        } else {
+            fillUnit(geometry.getRows()[0], random, givens);
+        }
+        if (!bitmaskSearch.load(geometry, i -> givens[i]) || bitmaskSearch.countSolutions(1) == 0)
+            return false;
+        int[] solution = bitmaskSearch.getSolution();
+
+        int[] values = shuffle(size + 1, 1, random);
+        int[] rows = shuffleLines(geometry.getBoxColumns(), geometry.getBoxRows(), random);
+        int[] columns = shuffleLines(geometry.getBoxRows(), geometry.getBoxColumns(), random);
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                cellValues[row * size + column] = values[solution[rows[row] * size + columns[column]]];
+            }
+        }
+        return true;
+    }
+
+    // removes clues in random order, keeping each removal only while the solution stays unique
+    private static boolean removeClues(GridGeometry geometry, int givensCount, SeededRandom random,
+                                       BitmaskSearch bitmaskSearch, int[] cellValues) {
+        int remainingCount = cellValues.length;
+        for (int cellIndex : shuffle(cellValues.length, 0, random)) {
+            if (remainingCount == givensCount) break;
+            int value = cellValues[cellIndex];
+            cellValues[cellIndex] = 0;
+            if (bitmaskSearch.load(geometry, i -> cellValues[i]) && bitmaskSearch.countSolutions(2) == 1)
+                remainingCount--;
+            else
+                cellValues[cellIndex] = value;
+        }
+        return remainingCount == givensCount;
+    }
+
+    private static void fillUnit(int[] unit, SeededRandom random, int[] givens) {
+        int[] values = shuffle(unit.length + 1, 1, random);
+        for (int i = 0; i < unit.length; i++) {
+            givens[unit[i]] = values[i + 1];
+        }
+    }
+
+    // groups of lines shuffled, then the lines inside each group
+    private static int[] shuffleLines(int groupsCount, int groupSize, SeededRandom random) {
+        int[] groups = shuffle(groupsCount, 0, random);
+        int[] lines = new int[groupsCount * groupSize];
+        for (int group = 0; group < groupsCount; group++) {
+            int[] groupLines = shuffle(groupSize, 0, random);
+            for (int i = 0; i < groupSize; i++) {
+                lines[group * groupSize + i] = groups[group] * groupSize + groupLines[i];
+            }
+        }
+        return lines;
+    }
+
+    // identity on 0..from-1, a Fisher-Yates shuffle of from..count-1
+    private static int[] shuffle(int count, int from, SeededRandom random) {
+        int[] items = new int[count];
+        for (int i = 0; i < count; i++) items[i] = i;
+        for (int i = count - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+        }
+        return items;
+    }
+
+    private static PackedSudokuGrid toPuzzle(GridGeometry geometry, int[] cellValues) {
+        byte[] givens = new byte[cellValues.length];
+        long[] fixedCellMask = new long[(cellValues.length + 63) / 64];
+        for (int i = 0; i < cellValues.length; i++) {
+            givens[i] = (byte) cellValues[i];
+            if (cellValues[i] != 0) fixedCellMask[i >>> 6] |= 1L << i;
+        }
+        return new PackedSudokuGrid(geometry, givens, fixedCellMask);
+    }
+
+    private static long writePuzzle(BufferedWriter writer, Future<PackedSudokuGrid> future) throws IOException {
+        PackedSudokuGrid puzzle;
+        try {
+            puzzle = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Puzzle generation was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Puzzle generation failed!", e.getCause());
+        }
+        if (puzzle == null) return 0;
+        writer.write(puzzle.toString());
+        writer.newLine();
+        return 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
+
+/**
+ * Linear ranking: the individual of rank {@code r} (1 for the least fit) is drawn with probability proportional to
+ * {@code r}, so selection pressure does not depend on the spread of fitness values.
+ */
+public class RankSelectionServiceImpl extends AbstractSelectionService {
+
+    private final SeededRandom random;
+
+    public RankSelectionServiceImpl(SeededRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public void select(PackedSudokuGrid[] populationBeforeCrossover, PackedSudokuGrid[] populationAfterMutation,
+                       PackedSudokuGrid[] nextGeneration) {
+        PackedSudokuGrid[] sortedCandidates = sortByFitness(populationBeforeCrossover, populationAfterMutation);
+        int ranksSum = sortedCandidates.length * (sortedCandidates.length + 1) / 2;
+        for (var sudokuGrid : nextGeneration) {
+            sudokuGrid.copyFrom(sortedCandidates[getRank(random.nextInt(ranksSum)) - 1]);
+        }
+    }
+
+    // smallest rank r with r * (r + 1) / 2 > ticket
+    private static int getRank(int ticket) {
+        int rank = (int) ((Math.sqrt(8.0 * ticket + 1) - 1) / 2);
+        while (rank * (rank + 1) / 2 <= ticket) rank++;
+        while (rank > 1 && (rank - 1) * rank / 2 > ticket) rank--;
+        return rank;
+    }
+}
@@ -0,0 +1,37 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
+
+/**
+ * Fills every slot with the fittest of {@code tournamentSize} candidates drawn with replacement; larger
+ * tournaments mean stronger selection pressure.
+ */
+public class TournamentSelectionServiceImpl extends AbstractSelectionService {
+
+    private final int tournamentSize;
+    private final SeededRandom random;
+
+    public TournamentSelectionServiceImpl(int tournamentSize, SeededRandom random) {
+        this.tournamentSize = tournamentSize;
+        this.random = random;
+    }
+
+    @Override
+    public void select(PackedSudokuGrid[] populationBeforeCrossover, PackedSudokuGrid[] populationAfterMutation,
+                       PackedSudokuGrid[] nextGeneration) {
+        int candidatesCount = populationBeforeCrossover.length + populationAfterMutation.length;
+        for (var sudokuGrid : nextGeneration) {
+            PackedSudokuGrid winner = null;
+            for (int i = 0; i < tournamentSize; i++) {
+                int index = random.nextInt(candidatesCount);
+                PackedSudokuGrid candidate = index < populationBeforeCrossover.length
+                        ? populationBeforeCrossover[index]
+                        : populationAfterMutation[index - populationBeforeCrossover.length];
+                if (winner == null || candidate.getGridFitnessValue() > winner.getGridFitnessValue())
+                    winner = candidate;
+            }
+            sudokuGrid.copyFrom(winner);
+        }
+    }
+}
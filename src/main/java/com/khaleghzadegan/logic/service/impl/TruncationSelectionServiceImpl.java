@@ -0,0 +1,19 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+
+/**
+ * Keeps the fittest half of both populations, in ascending fitness order.
+ */
+public class TruncationSelectionServiceImpl extends AbstractSelectionService {
+
+    @Override
+    public void select(PackedSudokuGrid[] populationBeforeCrossover, PackedSudokuGrid[] populationAfterMutation,
+                       PackedSudokuGrid[] nextGeneration) {
+        PackedSudokuGrid[] sortedCandidates = sortByFitness(populationBeforeCrossover, populationAfterMutation);
+        int offset = sortedCandidates.length - nextGeneration.length;
+        for (int i = 0; i < nextGeneration.length; i++) {
+            nextGeneration[i].copyFrom(sortedCandidates[offset + i]);
+        }
+    }
+}
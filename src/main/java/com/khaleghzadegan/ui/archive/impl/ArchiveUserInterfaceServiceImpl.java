@@ -0,0 +1,46 @@
+package com.khaleghzadegan.ui.archive.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.service.PuzzleArchiveService;
+import com.khaleghzadegan.ui.service.UserInterfaceService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class ArchiveUserInterfaceServiceImpl implements UserInterfaceService {
+
+    private final PuzzleArchiveService puzzleArchiveService;
+    private final boolean toArchive;
+    private final Path input;
+    private final Path output;
+
+    public ArchiveUserInterfaceServiceImpl(PuzzleArchiveService puzzleArchiveService, boolean toArchive,
+                                           Path input, Path output) {
+        this.puzzleArchiveService = puzzleArchiveService;
+        this.toArchive = toArchive;
+        this.input = input;
+        this.output = output;
+    }
+
+    @Override
+    public void initializeUserInterface() {
+        printMessage("Converting " + input + " into " + (toArchive ? "archive " : "text ") + output + "...");
+        long start = System.nanoTime();
+        long puzzlesCount;
+        try {
+            puzzlesCount = toArchive
+                    ? puzzleArchiveService.toArchive(input, output)
+                    : puzzleArchiveService.toText(input, output);
+        } catch (IOException e) {
+            throw new InvalidInputException(e.getMessage(), e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        printMessage("Puzzles: " + puzzlesCount);
+        printMessage(String.format("Elapsed: %.3f s, throughput: %.1f puzzles/s",
+                elapsedNanos / 1e9, elapsedNanos == 0 ? 0 : puzzlesCount * 1e9 / elapsedNanos));
+    }
+
+    private static void printMessage(String message) {
+        System.out.println(message);
+    }
+}
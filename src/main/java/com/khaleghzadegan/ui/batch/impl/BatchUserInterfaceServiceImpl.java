@@ -0,0 +1,47 @@
+package com.khaleghzadegan.ui.batch.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.BatchSolveSummary;
+import com.khaleghzadegan.logic.model.PuzzleArchive;
+import com.khaleghzadegan.logic.service.BatchSolveService;
+import com.khaleghzadegan.ui.service.UserInterfaceService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class BatchUserInterfaceServiceImpl implements UserInterfaceService {
+
+    private final BatchSolveService batchSolveService;
+    private final Path input;
+    private final Path output;
+
+    public BatchUserInterfaceServiceImpl(BatchSolveService batchSolveService, Path input, Path output) {
+        this.batchSolveService = batchSolveService;
+        this.input = input;
+        this.output = output;
+    }
+
+    @Override
+    public void initializeUserInterface() {
+        printMessage("Solving puzzles of " + input + " into " + output + "...");
+        BatchSolveSummary summary;
+        try {
+            summary = PuzzleArchive.isArchive(input)
+                    ? batchSolveService.solveArchive(input, output)
+                    : batchSolveService.solve(input, output);
+        } catch (IOException e) {
+            throw new InvalidInputException(e.getMessage(), e);
+        }
+        printMessage("Puzzles: " + summary.getPuzzlesCount()
+                + ", solved: " + summary.getSolvedCount()
+                + ", invalid: " + summary.getInvalidCount()
+                + ", gave up: " + summary.getGaveUpCount()
+                + ", no solution: " + summary.getNoSolutionCount());
+        printMessage(String.format("Elapsed: %.3f s, throughput: %.1f puzzles/s",
+                summary.getElapsedNanos() / 1e9, summary.getPuzzlesPerSecond()));
+    }
+
+    private static void printMessage(String message) {
+        System.out.println(message);
+    }
+}
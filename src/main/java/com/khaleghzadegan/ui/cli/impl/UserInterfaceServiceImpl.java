@@ -2,6 +2,7 @@ package com.khaleghzadegan.ui.cli.impl;
 
 import com.khaleghzadegan.logic.exception.InvalidInputException;
 import com.khaleghzadegan.logic.model.GridCell;
+import com.khaleghzadegan.logic.model.GridGeometry;
 import com.khaleghzadegan.logic.model.SudokuGrid;
 import com.khaleghzadegan.logic.service.GamePlayService;
 import com.khaleghzadegan.ui.service.UserInterfaceService;
@@ -13,12 +14,20 @@ import java.util.Scanner;
 
 public class UserInterfaceServiceImpl implements UserInterfaceService {
 
-    private static final GamePlayService gamePlayService = GamePlayService.build();
+    private final GamePlayService gamePlayService;
+
+    public UserInterfaceServiceImpl() {
+        this(GamePlayService.build());
+    }
+
+    public UserInterfaceServiceImpl(GamePlayService gamePlayService) {
+        this.gamePlayService = gamePlayService;
+    }
 
     @Override
     public void initializeUserInterface() {
         greetUser();
-        SudokuGrid sudokuGrid = getSudokuGridFromUser();
+        SudokuGrid sudokuGrid = getSudokuGridFromUser(getBoardSizeFromUser());
         displaySudoku(sudokuGrid);
         if (userReadyToStart()) {
             printMessage("Please be patient...");
@@ -34,16 +43,28 @@ public class UserInterfaceServiceImpl implements UserInterfaceService {
     }
 
 
-    private static SudokuGrid getSudokuGridFromUser() {
-        SudokuGrid sudokuGrid = new SudokuGrid();
+    private static GridGeometry getBoardSizeFromUser() {
+        System.out.print("Enter board size (9, 16 or 25; 0 for 9): ");
+        do {
+            int size = getIntValueFromStdin();
+            try {
+                return GridGeometry.of(size == 0 ? SudokuGrid.GAME_BOUNDARY : size);
+            } catch (InvalidInputException e) {
+                System.out.print("ERROR: " + e.getMessage() + " Please try again: ");
+            }
+        } while (true);
+    }
+
+    private static SudokuGrid getSudokuGridFromUser(GridGeometry geometry) {
+        SudokuGrid sudokuGrid = new SudokuGrid(geometry.getSize());
         var gridCells = sudokuGrid.getGridCells();
-        for (int i = 0; i < 9; i++)
-            for (int j = 0; j < 9; j++)
-                gridCells[i][j] = getGridCell(i, j);
+        for (int i = 0; i < geometry.getSize(); i++)
+            for (int j = 0; j < geometry.getSize(); j++)
+                gridCells[i][j] = getGridCell(geometry, i, j);
         return sudokuGrid;
     }
 
-    private static GridCell getGridCell(int i, int j) {
+    private static GridCell getGridCell(GridGeometry geometry, int i, int j) {
         int iIndenx = i + 1;
         int jIndex = j + 1;
         System.out.print("Enter sudoku item " + iIndenx + ", " + jIndex + " (Enter 0 for not given): ");
@@ -51,7 +72,7 @@ public class UserInterfaceServiceImpl implements UserInterfaceService {
             int value = getIntValueFromStdin();
             if (value == 0) {
                 return new GridCell(value, GridCell.CellType.CHANGEABLE);
-            } else if ((value >= 1) && (value <= 9)) {
+            } else if ((value >= 1) && (value <= geometry.getSize())) {
                 return new GridCell(value, GridCell.CellType.FIXED);
             } else {
                 System.out.print("ERROR: invalid input range... Please try again: ");
@@ -83,21 +104,23 @@ public class UserInterfaceServiceImpl implements UserInterfaceService {
 
     private static void displaySudoku(SudokuGrid sudokuGrid) {
         GridCell[][] gridCells = sudokuGrid.getGridCells();
+        GridGeometry geometry = GridGeometry.of(sudokuGrid.getSize());
+        int size = geometry.getSize();
 
         System.out.println("");
         System.out.println("          sudoku gird          ".toUpperCase());
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 if (gridCells[i][j].getCellValue() >= 1) {
-                    System.out.print(gridCells[i][j].getCellValue() + ",");
+                    System.out.print(geometry.toSymbol(gridCells[i][j].getCellValue()) + ",");
                 } else {
                     System.out.print("X,");
                 }
 
-                if ((j == 2) || (j == 5)) {
+                if ((j + 1) % geometry.getBoxColumns() == 0 && j < size - 1) {
                     System.out.print("      ");
                 }
-                if (((i == 2) && (j == 8)) || ((i == 5) && (j == 8))) {
+                if ((i + 1) % geometry.getBoxRows() == 0 && i < size - 1 && j == size - 1) {
                     System.out.println("");
                     System.out.print("                              ");
                 }
@@ -0,0 +1,48 @@
+package com.khaleghzadegan.ui.generator.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.service.PuzzleGeneratorService;
+import com.khaleghzadegan.ui.service.UserInterfaceService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class GeneratorUserInterfaceServiceImpl implements UserInterfaceService {
+
+    private final PuzzleGeneratorService puzzleGeneratorService;
+    private final GridGeometry geometry;
+    private final int givensCount;
+    private final long count;
+    private final Path output;
+
+    public GeneratorUserInterfaceServiceImpl(PuzzleGeneratorService puzzleGeneratorService, GridGeometry geometry,
+                                             int givensCount, long count, Path output) {
+        this.puzzleGeneratorService = puzzleGeneratorService;
+        this.geometry = geometry;
+        this.givensCount = givensCount;
+        this.count = count;
+        this.output = output;
+    }
+
+    @Override
+    public void initializeUserInterface() {
+        printMessage("Generating " + count + " " + geometry + " puzzles with " + givensCount + " givens into "
+                + output + "...");
+        long start = System.nanoTime();
+        long writtenCount;
+        try {
+            writtenCount = puzzleGeneratorService.generate(geometry, givensCount, count, output);
+        } catch (IOException e) {
+            throw new InvalidInputException(e.getMessage(), e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        printMessage("Puzzles: " + writtenCount + ", unreachable: " + (count - writtenCount));
+        printMessage(String.format("Elapsed: %.3f s, throughput: %.1f puzzles/s",
+                elapsedNanos / 1e9, elapsedNanos == 0 ? 0 : writtenCount * 1e9 / elapsedNanos));
+    }
+
+    private static void printMessage(String message) {
+        System.out.println(message);
+    }
+}
@@ -0,0 +1,285 @@
+package com.khaleghzadegan.ui.server.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.LatencyHistogram;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.ui.service.UserInterfaceService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP front end of a solver, bound to the loopback address.
+ * <ul>
+ * <li>{@code POST /solve[?timeoutMillis=..&seed=..]} with one puzzle line as the body answers
+ * {@code puzzle,solution,status,micros,seed} like a batch output line followed by the seed that replays the solve:
+ * 200 once solved, given up or proved to have no solution, 400 when invalid, and 503 when the admission queue is
+ * full or the deadline passed while queued.</li>
+ * <li>{@code GET /metrics} answers the queue depth, admission counters, results per status, latency percentiles and
+ * solver metrics as JSON.</li>
+ * </ul>
+ * Every request gets its own thread, virtual when the runtime has them, but at most {@code concurrency} of them solve
+ * at once and at most {@code queueCapacity} more wait for a turn.
+ */
+public class ServerUserInterfaceServiceImpl implements UserInterfaceService {
+
+    private static final int MAX_REQUEST_BYTES = 4096;
+
+    private final GamePlayService gamePlayService;
+    private final int port;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Semaphore solvingPermits;
+    private final AtomicInteger admittedRequests = new AtomicInteger();
+    private final AtomicInteger solvingRequests = new AtomicInteger();
+    private final LongAdder acceptedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder[] solveStatusCounts = newSolveStatusCounts();
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram solveLatency = new LatencyHistogram();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private HttpServer httpServer;
+    private ExecutorService requestExecutor;
+    private boolean virtualThreads;
+
+    public ServerUserInterfaceServiceImpl(GamePlayService gamePlayService, int port, int concurrency,
+                                          int queueCapacity, Duration timeout) {
+        if (concurrency < 1)
+            throw new InvalidInputException("Concurrency must be positive!");
+        if (queueCapacity < 0)
+            throw new InvalidInputException("Queue capacity must not be negative!");
+        this.gamePlayService = gamePlayService;
+        this.port = port;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.solvingPermits = new Semaphore(concurrency, true);
+    }
+
+    @Override
+    public void initializeUserInterface() {
+        int boundPort = start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+        printMessage("Serving on http://localhost:" + boundPort + "/solve with "
+                + (virtualThreads ? "virtual" : "platform") + " threads, " + concurrency + " concurrent solves and "
+                + queueCapacity + " queued requests at most...");
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts serving and returns the bound port, which is only chosen by the system when {@code port} is 0.
+     */
+    public synchronized int start() {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new InvalidInputException("Can not listen on port " + port + ": " + e.getMessage(), e);
+        }
+        requestExecutor = newRequestExecutor();
+        httpServer.setExecutor(requestExecutor);
+        httpServer.createContext("/solve", this::handleSolve);
+        httpServer.createContext("/metrics", this::handleMetrics);
+        httpServer.start();
+        return httpServer.getAddress().getPort();
+    }
+
+    public synchronized void stop() {
+        if (httpServer == null) return;
+        httpServer.stop(0);
+        requestExecutor.shutdownNow();
+        httpServer = null;
+        stopped.countDown();
+    }
+
+    public int getQueueDepth() {
+        return admittedRequests.get() - solvingRequests.get();
+    }
+
+    public String getMetricsJson() {
+        return "{\"queueDepth\":" + getQueueDepth()
+                + ",\"solving\":" + solvingRequests.get()
+                + ",\"accepted\":" + acceptedRequests.sum()
+                + ",\"rejected\":" + rejectedRequests.sum()
+                + ",\"results\":" + getSolveStatusCountsJson()
+                + ",\"queueLatencyMicros\":" + queueLatency.toJson()
+                + ",\"solveLatencyMicros\":" + solveLatency.toJson()
+                + ",\"solver\":" + gamePlayService.getSolverMetrics().toJson() + "}";
+    }
+
+    // NO_SOLUTION only comes from exact engines, telling proved unsolvable puzzles from GAVE_UP time-outs
+    private String getSolveStatusCountsJson() {
+        StringBuilder json = new StringBuilder("{");
+        for (SolveStatus solveStatus : SolveStatus.values()) {
+            if (json.length() > 1) json.append(',');
+            json.append('"').append(solveStatus.name()).append("\":").append(solveStatusCounts[solveStatus.ordinal()].sum());
+        }
+        return json.append('}').toString();
+    }
+
+    private static LongAdder[] newSolveStatusCounts() {
+        LongAdder[] solveStatusCounts = new LongAdder[SolveStatus.values().length];
+        for (int i = 0; i < solveStatusCounts.length; i++) {
+            solveStatusCounts[i] = new LongAdder();
+        }
+        return solveStatusCounts;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor only exists from Java 21 on, while this code targets older releases
+    private ExecutorService newRequestExecutor() {
+        try {
+            ExecutorService executorService = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreads = true;
+            return executorService;
+        } catch (ReflectiveOperationException e) {
+            virtualThreads = false;
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "solve-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "Use POST with one puzzle line as the body");
+                return;
+            }
+            String puzzle = readBody(exchange);
+            if (puzzle == null) {
+                send(exchange, 413, "Puzzle is too large");
+                return;
+            }
+            long start = System.nanoTime();
+            PackedSudokuGrid blueprintSudokuGrid;
+            Duration requestTimeout;
+            Long requestedSeed;
+            try {
+                blueprintSudokuGrid = PackedSudokuGrid.fromLine(puzzle);
+                requestTimeout = Duration.ofMillis(getQueryParameter(exchange, "timeoutMillis", timeout.toMillis()));
+                requestedSeed = getQueryParameter(exchange, "seed", null);
+            } catch (InvalidInputException | NumberFormatException e) {
+                send(exchange, 400, toResultLine(puzzle, null, SolveStatus.INVALID, System.nanoTime() - start, null));
+                return;
+            }
+            long seed = requestedSeed != null ? requestedSeed : gamePlayService.newSeed(blueprintSudokuGrid);
+            if (admittedRequests.incrementAndGet() > concurrency + queueCapacity) {
+                admittedRequests.decrementAndGet();
+                rejectedRequests.increment();
+                sendOverloaded(exchange, "queue is full");
+                return;
+            }
+            acceptedRequests.increment();
+            try {
+                solveAdmitted(exchange, puzzle, blueprintSudokuGrid, requestTimeout, seed, start);
+            } finally {
+                admittedRequests.decrementAndGet();
+            }
+        }
+    }
+
+    // the deadline covers the time spent queueing, so a late turn is shed instead of solved
+    private void solveAdmitted(HttpExchange exchange, String puzzle, PackedSudokuGrid blueprintSudokuGrid,
+                               Duration requestTimeout, long seed, long start) throws IOException {
+        CancellationToken cancellationToken = new CancellationToken(null, requestTimeout);
+        try {
+            if (!solvingPermits.tryAcquire(requestTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedRequests.increment();
+                sendOverloaded(exchange, "deadline passed in the queue");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendOverloaded(exchange, "server is stopping");
+            return;
+        }
+        queueLatency.record(System.nanoTime() - start);
+        SolveResult solveResult;
+        solvingRequests.incrementAndGet();
+        try {
+            solveResult = gamePlayService.solve(blueprintSudokuGrid, seed, cancellationToken);
+        } finally {
+            solvingRequests.decrementAndGet();
+            solvingPermits.release();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        solveLatency.record(elapsedNanos);
+        solveStatusCounts[solveResult.getSolveStatus().ordinal()].increment();
+        PackedSudokuGrid answer = solveResult.isSolved() ? solveResult.getSudokuGrid() : null;
+        send(exchange, solveResult.getSolveStatus() == SolveStatus.INVALID ? 400 : 200,
+                toResultLine(puzzle, answer, solveResult.getSolveStatus(), elapsedNanos, seed));
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            send(exchange, 200, getMetricsJson());
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_REQUEST_BYTES + 1);
+            return bytes.length > MAX_REQUEST_BYTES ? null : new String(bytes, StandardCharsets.US_ASCII).strip();
+        }
+    }
+
+    private static Long getQueryParameter(HttpExchange exchange, String name, Long defaultValue) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return defaultValue;
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(name + "="))
+                return Long.parseLong(parameter.substring(name.length() + 1));
+        }
+        return defaultValue;
+    }
+
+    // the seed replays the solve with ?seed=; unparsable requests never got one
+    private static String toResultLine(String puzzle, PackedSudokuGrid answer, SolveStatus solveStatus, long elapsedNanos,
+                                       Long seed) {
+        return puzzle + ',' + (answer != null ? answer.toString() : "") + ',' + solveStatus.name() + ','
+                + elapsedNanos / 1_000 + ',' + (seed != null ? seed.toString() : "");
+    }
+
+    private static void sendOverloaded(HttpExchange exchange, String reason) throws IOException {
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        send(exchange, 503, "OVERLOADED: " + reason);
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = (body + "\n").getBytes(StandardCharsets.US_ASCII);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static void printMessage(String message) {
+        System.out.println(message);
+    }
+}
@@ -1,7 +1,18 @@
 package com.khaleghzadegan.ui.service;
 
-import com.khaleghzadegan.logic.model.SudokuGrid;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.service.BatchSolveService;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.PuzzleArchiveService;
+import com.khaleghzadegan.logic.service.PuzzleGeneratorService;
+import com.khaleghzadegan.ui.archive.impl.ArchiveUserInterfaceServiceImpl;
+import com.khaleghzadegan.ui.batch.impl.BatchUserInterfaceServiceImpl;
 import com.khaleghzadegan.ui.cli.impl.UserInterfaceServiceImpl;
+import com.khaleghzadegan.ui.generator.impl.GeneratorUserInterfaceServiceImpl;
+import com.khaleghzadegan.ui.server.impl.ServerUserInterfaceServiceImpl;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 public interface UserInterfaceService {
     void initializeUserInterface();
@@ -10,4 +21,27 @@ public interface UserInterfaceService {
         return new UserInterfaceServiceImpl();
     }
 
+    static UserInterfaceService build(GamePlayService gamePlayService) {
+        return new UserInterfaceServiceImpl(gamePlayService);
+    }
+
+    static UserInterfaceService buildBatch(BatchSolveService batchSolveService, Path input, Path output) {
+        return new BatchUserInterfaceServiceImpl(batchSolveService, input, output);
+    }
+
+    static UserInterfaceService buildArchive(PuzzleArchiveService puzzleArchiveService, boolean toArchive,
+                                             Path input, Path output) {
+        return new ArchiveUserInterfaceServiceImpl(puzzleArchiveService, toArchive, input, output);
+    }
+
+    static UserInterfaceService buildGenerator(PuzzleGeneratorService puzzleGeneratorService, GridGeometry geometry,
+                                               int givensCount, long count, Path output) {
+        return new GeneratorUserInterfaceServiceImpl(puzzleGeneratorService, geometry, givensCount, count, output);
+    }
+
+    static UserInterfaceService buildServer(GamePlayService gamePlayService, int port, int concurrency,
+                                            int queueCapacity, Duration timeout) {
+        return new ServerUserInterfaceServiceImpl(gamePlayService, port, concurrency, queueCapacity, timeout);
+    }
+
 }
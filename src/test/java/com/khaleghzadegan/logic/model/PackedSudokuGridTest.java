@@ -0,0 +1,151 @@
+package com.khaleghzadegan.logic.model;
+
+import com.khaleghzadegan.logic.exception.FixedCellChangeNotAllowedException;
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.service.GameOperationsService;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PackedSudokuGridTest {
+
+    private static final String PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+
+    @Test
+    public void shouldRoundTripThroughSudokuGrid() {
+        PackedSudokuGrid packedSudokuGrid = PackedSudokuGrid.from(toSudokuGrid(PUZZLE));
+        assertEquals(PUZZLE, packedSudokuGrid.toString());
+        assertTrue(packedSudokuGrid.isFixed(0, 0));
+        assertFalse(packedSudokuGrid.isFixed(0, 2));
+
+        SudokuGrid sudokuGrid = packedSudokuGrid.toSudokuGrid();
+        assertEquals(GridCell.CellType.FIXED, sudokuGrid.getGridCells()[0][1].getCellType());
+        assertEquals(Integer.valueOf(3), sudokuGrid.getGridCells()[0][1].getCellValue());
+        assertEquals(GridCell.CellType.CHANGEABLE, sudokuGrid.getGridCells()[8][0].getCellType());
+    }
+
+    @Test
+    public void copiesShouldNotShareCellValues() {
+        PackedSudokuGrid blueprint = PackedSudokuGrid.from(toSudokuGrid(PUZZLE));
+        PackedSudokuGrid copy = new PackedSudokuGrid(blueprint);
+        copy.setCellValue(0, 2, 4);
+        assertEquals(0, blueprint.getCellValue(0, 2));
+        assertSame(blueprint.getFixedCellMask(), copy.getFixedCellMask());
+    }
+
+    @Test
+    public void crossoverShouldCopyValuesNotCells() {
+        GameOperationsService gameOperationsService = GameOperationsService.build();
+        PackedSudokuGrid blueprint = PackedSudokuGrid.from(toSudokuGrid(PUZZLE));
+        PackedSudokuGrid sudokuGrid1 = new PackedSudokuGrid(blueprint);
+        PackedSudokuGrid sudokuGrid2 = new PackedSudokuGrid(blueprint);
+        for (int i = 0; i < 100; i++) {
+            gameOperationsService.performUniformRowWiseCrossover(sudokuGrid1, sudokuGrid2);
+        }
+        sudokuGrid1.setCellValue(0, 2, 4);
+        assertEquals(0, sudokuGrid2.getCellValue(0, 2));
+    }
+
+    @Test
+    public void incrementalFitnessShouldMatchPairwiseComparison() {
+        GameOperationsService gameOperationsService = GameOperationsService.build();
+        PackedSudokuGrid blueprint = PackedSudokuGrid.from(toSudokuGrid(PUZZLE));
+        PackedSudokuGrid sudokuGrid1 = new PackedSudokuGrid(blueprint);
+        PackedSudokuGrid sudokuGrid2 = new PackedSudokuGrid(blueprint);
+        for (int i = 0; i < 50; i++) {
+            gameOperationsService.performBitWiseMutation(sudokuGrid1);
+            gameOperationsService.performBitWiseMutation(sudokuGrid2);
+            gameOperationsService.performUniformRowWiseCrossover(sudokuGrid1, sudokuGrid2);
+            gameOperationsService.removeRepetition(sudokuGrid2);
+            gameOperationsService.calculateAndUpdateFitnessValue(sudokuGrid1);
+            gameOperationsService.calculateAndUpdateFitnessValue(sudokuGrid2);
+            assertEquals(getPairwiseFitnessValue(sudokuGrid1), sudokuGrid1.getGridFitnessValue());
+            assertEquals(getPairwiseFitnessValue(sudokuGrid2), sudokuGrid2.getGridFitnessValue());
+        }
+    }
+
+    @Test
+    public void zobristHashShouldFollowCellValues() {
+        PackedSudokuGrid blueprint = PackedSudokuGrid.from(toSudokuGrid(PUZZLE));
+        PackedSudokuGrid sudokuGrid = new PackedSudokuGrid(blueprint);
+        sudokuGrid.setCellValue(0, 2, 4);
+        sudokuGrid.setCellValue(0, 3, 6);
+        assertNotEquals(blueprint.getZobristHash(), sudokuGrid.getZobristHash());
+        assertEquals(PackedSudokuGrid.fromLine(sudokuGrid.toString()).getZobristHash(), sudokuGrid.getZobristHash());
+
+        sudokuGrid.markEvaluated();
+        PackedSudokuGrid copy = new PackedSudokuGrid(blueprint);
+        copy.copyFrom(sudokuGrid);
+        assertTrue(copy.isUnchangedSinceEvaluation());
+        sudokuGrid.setCellValue(0, 2, 6);
+        sudokuGrid.setCellValue(0, 3, 4);
+        assertFalse(sudokuGrid.isUnchangedSinceEvaluation());
+        sudokuGrid.setCellValue(0, 2, 4);
+        sudokuGrid.setCellValue(0, 3, 6);
+        assertTrue(sudokuGrid.isUnchangedSinceEvaluation());
+        sudokuGrid.setGridFitnessValue(0);
+        assertFalse(sudokuGrid.isUnchangedSinceEvaluation());
+    }
+
+    @Test(expected = FixedCellChangeNotAllowedException.class)
+    public void shouldRejectChangesToFixedCells() {
+        PackedSudokuGrid.from(toSudokuGrid(PUZZLE)).setCellValue(0, 0, 1);
+    }
+
+    private static int getPairwiseFitnessValue(PackedSudokuGrid sudokuGrid) {
+        int result = 0;
+        for (int[] unit : sudokuGrid.getGeometry().getAllUnits()) {
+            for (int i = 0; i < unit.length; i++) {
+                for (int j = i + 1; j < unit.length; j++) {
+                    if (sudokuGrid.getCellValue(unit[i]) != sudokuGrid.getCellValue(unit[j])) result++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static SudokuGrid toSudokuGrid(String puzzle) {
+        SudokuGrid sudokuGrid = new SudokuGrid();
+        for (int i = 0; i < SudokuGrid.GAME_BOUNDARY; i++) {
+            for (int j = 0; j < SudokuGrid.GAME_BOUNDARY; j++) {
+                char c = puzzle.charAt(i * SudokuGrid.GAME_BOUNDARY + j);
+                sudokuGrid.getGridCells()[i][j] = c == '.'
+                        ? new GridCell(0, GridCell.CellType.CHANGEABLE)
+                        : new GridCell(c - '0', GridCell.CellType.FIXED);
+            }
+        }
+        return sudokuGrid;
+    }
+
+    @Test
+    public void geometryShouldSplitBoardsIntoBoxes() {
+        GridGeometry geometry = GridGeometry.of(6);
+        assertEquals(2, geometry.getBoxRows());
+        assertEquals(3, geometry.getBoxColumns());
+        assertEquals(GridGeometry.STANDARD, GridGeometry.of(9));
+        assertEquals(4, GridGeometry.of(16).getBoxRows());
+    }
+
+    @Test
+    public void shouldRoundTripSixteenBySixteenLines() {
+        String line = "1234" + "56789ABCDEFG" + ".".repeat(240);
+        PackedSudokuGrid packedSudokuGrid = PackedSudokuGrid.fromLine(line);
+        assertEquals(16, packedSudokuGrid.getGeometry().getSize());
+        assertEquals(16, packedSudokuGrid.getCellValue(0, 15));
+        assertEquals(line, packedSudokuGrid.toString());
+        assertEquals(line, PackedSudokuGrid.from(packedSudokuGrid.toSudokuGrid()).toString());
+    }
+
+    @Test
+    public void fromLineShouldRejectUnknownCharacters() {
+        for (String line : new String[]{"-".repeat(81), "x" + ".".repeat(80), "G" + ".".repeat(80)}) {
+            try {
+                PackedSudokuGrid.fromLine(line);
+                fail("Accepted " + line);
+            } catch (InvalidInputException e) {
+                assertTrue(e.getMessage().contains("position 0"));
+            }
+        }
+    }
+}
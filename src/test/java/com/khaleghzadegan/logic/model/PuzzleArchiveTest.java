@@ -0,0 +1,121 @@
+package com.khaleghzadegan.logic.model;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.service.PuzzleArchiveService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PuzzleArchiveTest {
+
+    private static final String PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String SOLUTION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldPackNineByNineRecordsInFourBitsPerCell() throws Exception {
+        Path path = temporaryFolder.newFile("puzzles.sdkb").toPath();
+        try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(path, GridGeometry.STANDARD, true)) {
+            writer.write(PackedSudokuGrid.fromLine(PUZZLE), PackedSudokuGrid.fromLine(SOLUTION));
+            writer.write(PackedSudokuGrid.fromLine(PUZZLE), null);
+            writer.finish();
+        }
+        assertEquals(PuzzleArchive.HEADER_BYTES + 2 * 81, Files.size(path));
+        assertTrue(PuzzleArchive.isArchive(path));
+
+        PuzzleArchive puzzleArchive = PuzzleArchive.open(path);
+        assertEquals(2, puzzleArchive.getCount());
+        assertTrue(puzzleArchive.hasSolutions());
+        assertEquals(PUZZLE, puzzleArchive.getPuzzle(1).toString());
+        assertEquals(SOLUTION, puzzleArchive.getSolution(0).toString());
+        assertTrue(puzzleArchive.getSolution(0).isFixed(0));
+        assertFalse(puzzleArchive.getSolution(0).isFixed(2));
+        assertEquals(4, puzzleArchive.getSolutionCellValue(0, 2));
+        assertFalse(puzzleArchive.isSolved(1));
+        assertNull(puzzleArchive.getSolution(1));
+
+        byte[] cellValues = new byte[81];
+        puzzleArchive.readCellValues(0, cellValues);
+        assertEquals(5, cellValues[0]);
+        assertEquals(0, cellValues[2]);
+
+        PackedSudokuGrid puzzle = PackedSudokuGrid.fromLine(SOLUTION);
+        puzzleArchive.readPuzzle(1, puzzle);
+        assertEquals(PUZZLE, puzzle.toString());
+        assertTrue(puzzle.isFixed(0));
+        assertFalse(puzzle.isFixed(2));
+        assertEquals(PackedSudokuGrid.fromLine(PUZZLE).getZobristHash(), puzzle.getZobristHash());
+    }
+
+    @Test
+    public void unfinishedWriterShouldLeaveNoArchive() throws Exception {
+        Path path = temporaryFolder.getRoot().toPath().resolve("puzzles.sdkb");
+        try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(path, GridGeometry.STANDARD, false)) {
+            writer.write(PackedSudokuGrid.fromLine(PUZZLE));
+        }
+        assertFalse(Files.exists(path));
+        assertEquals(0, temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldRoundTripSixteenBySixteenBoards() throws Exception {
+        GridGeometry geometry = GridGeometry.of(16);
+        StringBuilder line = new StringBuilder();
+        for (int row = 0; row < 16; row++) {
+            for (int column = 0; column < 16; column++) {
+                line.append(geometry.toSymbol((row * 4 + row / 4 + column) % 16 + 1));
+            }
+        }
+        line.setCharAt(3, '.');
+        PackedSudokuGrid puzzle = PackedSudokuGrid.fromLine(line);
+        Path path = temporaryFolder.newFile("puzzles.sdkb").toPath();
+        try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(path, geometry, false)) {
+            for (int i = 0; i < 3; i++) {
+                writer.write(puzzle);
+            }
+            writer.finish();
+        }
+
+        PuzzleArchive puzzleArchive = PuzzleArchive.open(path);
+        assertEquals(geometry, puzzleArchive.getGeometry());
+        assertEquals(3, puzzleArchive.getCount());
+        assertFalse(puzzleArchive.hasSolutions());
+        assertEquals(puzzle.toString(), puzzleArchive.getPuzzle(2).toString());
+        assertEquals(0, puzzleArchive.getCellValue(2, 3));
+        assertEquals(puzzle.getCellValue(255), puzzleArchive.getCellValue(2, 255));
+    }
+
+    @Test(expected = InvalidInputException.class)
+    public void shouldRejectSolutionsWhenArchiveHasNone() throws Exception {
+        Path path = temporaryFolder.newFile("puzzles.sdkb").toPath();
+        try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(path, GridGeometry.STANDARD, false)) {
+            writer.write(PackedSudokuGrid.fromLine(PUZZLE), PackedSudokuGrid.fromLine(SOLUTION));
+        }
+    }
+
+    @Test
+    public void textShouldSurviveArchiveRoundTrip() throws Exception {
+        Path text = temporaryFolder.newFile("input.txt").toPath();
+        Path archive = temporaryFolder.newFile("puzzles.sdkb").toPath();
+        Path output = temporaryFolder.newFile("output.txt").toPath();
+        List<String> lines = Arrays.asList(PUZZLE, PUZZLE + "," + SOLUTION + ",SOLVED", PUZZLE + ",,GAVE_UP");
+        Files.write(text, lines);
+
+        PuzzleArchiveService puzzleArchiveService = PuzzleArchiveService.build();
+        assertEquals(3, puzzleArchiveService.toArchive(text, archive));
+        assertFalse(PuzzleArchive.isArchive(text));
+        assertEquals(3, puzzleArchiveService.toText(archive, output));
+        assertEquals(Arrays.asList(PUZZLE + ",", PUZZLE + "," + SOLUTION, PUZZLE + ","), Files.readAllLines(output));
+    }
+}
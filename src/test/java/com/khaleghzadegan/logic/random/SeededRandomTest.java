@@ -0,0 +1,49 @@
+package com.khaleghzadegan.logic.random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SeededRandomTest {
+
+    @Test
+    public void sameSeedShouldReplaySameSequence() {
+        SeededRandom random1 = new SeededRandom(42L);
+        SeededRandom random2 = new SeededRandom(42L);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(random1.nextLong(), random2.nextLong());
+        }
+    }
+
+    @Test
+    public void splitShouldBeReproducibleAndIndependent() {
+        SeededRandom child1 = new SeededRandom(7L).split();
+        SeededRandom child2 = new SeededRandom(7L).split();
+        SeededRandom sibling = new SeededRandom(7L);
+        sibling.split();
+        SeededRandom secondChild = sibling.split();
+        long value = child1.nextLong();
+        assertEquals(value, child2.nextLong());
+        assertNotEquals(value, secondChild.nextLong());
+    }
+
+    @Test
+    public void nextIntShouldStayWithinBoundAndCoverIt() {
+        SeededRandom random = new SeededRandom(1L);
+        int[] counts = new int[9];
+        for (int i = 0; i < 90_000; i++) {
+            counts[random.nextInt(9)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000);
+        }
+    }
+
+    @Test
+    public void stateShouldRestoreGenerator() {
+        SeededRandom random = new SeededRandom(3L);
+        random.nextLong();
+        SeededRandom restored = new SeededRandom(random.getState0(), random.getState1());
+        assertEquals(random.nextLong(), restored.nextLong());
+    }
+}
@@ -0,0 +1,63 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveControllerTest {
+
+    @Test
+    public void shouldRaiseMutationAndRestartWhenStagnating() {
+        AdaptiveController adaptiveController = new AdaptiveController(0.2, 0.8, 100, () -> 0.0);
+        adaptiveController.onGeneration(900);
+        for (int i = 0; i < 99; i++) {
+            adaptiveController.onGeneration(900);
+            assertFalse(adaptiveController.shouldReset());
+        }
+        assertTrue(adaptiveController.getMutationRate() > 0.2);
+        assertTrue(adaptiveController.getCrossoverRate() < 0.8);
+
+        adaptiveController.onGeneration(900);
+        assertTrue(adaptiveController.shouldReset());
+        adaptiveController.onReset();
+        assertEquals(150, adaptiveController.getPatience());
+        assertEquals(0.2, adaptiveController.getMutationRate(), 0);
+        assertEquals(0.8, adaptiveController.getCrossoverRate(), 0);
+    }
+
+    @Test
+    public void shouldKeepRatesWhileImprovingOrDiverse() {
+        AdaptiveController adaptiveController = new AdaptiveController(0.2, 0.8, 100, () -> 0.5);
+        for (int i = 0; i < 50; i++) {
+            adaptiveController.onGeneration(900);
+        }
+        assertEquals(0.2, adaptiveController.getMutationRate(), 0);
+        adaptiveController.onGeneration(901);
+        assertFalse(adaptiveController.shouldReset());
+        adaptiveController.onReset();
+        adaptiveController.onReset();
+        assertEquals(112, adaptiveController.getPatience());
+    }
+
+    @Test
+    public void stagnationShouldNeverLowerMutationOrRaiseCrossover() {
+        AdaptiveController adaptiveController = new AdaptiveController(0.8, 0.1, 5_000, () -> 0.0);
+        for (int i = 0; i < 200; i++) {
+            adaptiveController.onGeneration(900);
+            assertTrue(adaptiveController.getMutationRate() >= 0.8);
+            assertTrue(adaptiveController.getCrossoverRate() <= 0.1);
+        }
+        assertEquals(0.8, adaptiveController.getMutationRate(), 0);
+        assertEquals(0.1, adaptiveController.getCrossoverRate(), 0);
+    }
+
+    @Test(expected = InvalidInputException.class)
+    public void settingsShouldRejectPatienceOutOfRange() {
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setStagnationPatience(GeneticAlgorithmSettings.MIN_STAGNATION_PATIENCE - 1);
+        GamePlayService.build(settings);
+    }
+}
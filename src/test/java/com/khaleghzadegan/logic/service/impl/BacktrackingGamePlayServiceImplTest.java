@@ -0,0 +1,87 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.junit.Test;
+
+import static com.khaleghzadegan.logic.service.impl.ConstraintPropagationServiceImplTest.toPackedSudokuGrid;
+import static org.junit.Assert.*;
+
+public class BacktrackingGamePlayServiceImplTest {
+
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String HARD_SOLUTION =
+            "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+
+    private final GamePlayService gamePlayService = GamePlayService.build(SolverStrategy.BACKTRACKING);
+
+    @Test
+    public void shouldSolveSeventeenCluePuzzle() {
+        PackedSudokuGrid blueprint = toPackedSudokuGrid(HARD_PUZZLE);
+        PackedSudokuGrid answer = gamePlayService.tryToSolve(blueprint);
+        assertNotNull(answer);
+        assertEquals(HARD_SOLUTION, answer.toString());
+        assertEquals(GridGeometry.STANDARD.getMaxFitnessValue(), answer.getGridFitnessValue());
+        assertTrue(answer.isFixed(0));
+        assertFalse(answer.isFixed(1));
+    }
+
+    @Test
+    public void shouldReturnNullForPuzzleWithoutSolution() {
+        String puzzle = "12345678." + "........9" + ".".repeat(63);
+        assertTrue(gamePlayService.validateBlueprint(toPackedSudokuGrid(puzzle)));
+        assertNull(gamePlayService.tryToSolve(toPackedSudokuGrid(puzzle)));
+        assertEquals(SolveStatus.NO_SOLUTION,
+                gamePlayService.solve(toPackedSudokuGrid(puzzle), CancellationToken.NONE).getSolveStatus());
+    }
+
+    @Test
+    public void shouldRejectDuplicateGivens() {
+        String puzzle = "11" + ".".repeat(79);
+        assertFalse(gamePlayService.validateBlueprint(toPackedSudokuGrid(puzzle)));
+        assertNull(gamePlayService.tryToSolve(toPackedSudokuGrid(puzzle)));
+    }
+
+    @Test
+    public void shouldSolveSixteenBySixteenPuzzle() {
+        StringBuilder puzzle = new StringBuilder();
+        StringBuilder solution = new StringBuilder();
+        GridGeometry geometry = GridGeometry.of(16);
+        for (int row = 0; row < 16; row++) {
+            for (int column = 0; column < 16; column++) {
+                char symbol = geometry.toSymbol((row * 4 + row / 4 + column) % 16 + 1);
+                solution.append(symbol);
+                puzzle.append((row * 7 + column * 3) % 5 < 2 ? '.' : symbol);
+            }
+        }
+        PackedSudokuGrid blueprint = PackedSudokuGrid.fromLine(puzzle.toString());
+        assertTrue(gamePlayService.validateBlueprint(blueprint));
+        PackedSudokuGrid answer = gamePlayService.tryToSolve(blueprint);
+        assertNotNull(answer);
+        assertEquals(solution.toString(), answer.toString());
+        assertEquals(geometry.getMaxFitnessValue(), answer.getGridFitnessValue());
+
+        PackedSudokuGrid geneticAnswer = GamePlayService.build().tryToSolve(blueprint, 1L);
+        assertNotNull(geneticAnswer);
+        assertEquals(geometry.getMaxFitnessValue(), geneticAnswer.getGridFitnessValue());
+    }
+
+    @Test
+    public void shouldCountSolutionsUpToTheLimit() {
+        assertEquals(1, gamePlayService.countSolutions(toPackedSudokuGrid(HARD_PUZZLE), 2));
+        assertTrue(gamePlayService.hasUniqueSolution(toPackedSudokuGrid(HARD_PUZZLE)));
+
+        String ambiguousPuzzle = "." + HARD_PUZZLE.substring(1);
+        assertEquals(2, gamePlayService.countSolutions(toPackedSudokuGrid(ambiguousPuzzle), 2));
+        assertFalse(gamePlayService.hasUniqueSolution(toPackedSudokuGrid(ambiguousPuzzle)));
+        assertEquals(50, gamePlayService.countSolutions(toPackedSudokuGrid(".".repeat(81)), 50));
+
+        assertEquals(0, gamePlayService.countSolutions(toPackedSudokuGrid("12345678." + "........9" + ".".repeat(63)), 2));
+        assertEquals(0, gamePlayService.countSolutions(toPackedSudokuGrid("11" + ".".repeat(79)), 2));
+    }
+}
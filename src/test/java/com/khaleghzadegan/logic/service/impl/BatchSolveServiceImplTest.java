@@ -0,0 +1,86 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.BatchSolveSummary;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.PuzzleArchive;
+import com.khaleghzadegan.logic.model.PuzzleArchiveWriter;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.service.BatchSolveService;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchSolveServiceImplTest {
+
+    private static final String EASY_PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteResultsInInputOrder() throws Exception {
+        List<String> puzzles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            puzzles.add(i % 2 == 0 ? HARD_PUZZLE : EASY_PUZZLE.replace('.', '0'));
+        }
+        puzzles.add("11" + ".".repeat(79));
+        puzzles.add("not a puzzle");
+        Path input = temporaryFolder.newFile("input.txt").toPath();
+        Path output = temporaryFolder.newFile("output.txt").toPath();
+        Files.write(input, puzzles);
+
+        BatchSolveService batchSolveService = BatchSolveService.build(GamePlayService.build(SolverStrategy.BACKTRACKING), 4, 1L);
+        BatchSolveSummary summary = batchSolveService.solve(input, output);
+
+        assertEquals(500, summary.getSolvedCount());
+        assertEquals(2, summary.getInvalidCount());
+        assertEquals(0, summary.getGaveUpCount());
+        List<String> results = Files.readAllLines(output);
+        assertEquals(puzzles.size(), results.size());
+        for (int i = 0; i < puzzles.size(); i++) {
+            String[] fields = results.get(i).split(",", -1);
+            assertEquals(puzzles.get(i), fields[0]);
+            assertEquals(i < 500 ? "SOLVED" : "INVALID", fields[2]);
+        }
+    }
+
+    @Test
+    public void shouldSolveArchivesIntoArchivesWithSolutions() throws Exception {
+        Path input = temporaryFolder.newFile("input.sdkb").toPath();
+        Path output = temporaryFolder.newFile("output.sdkb").toPath();
+        try (PuzzleArchiveWriter writer = new PuzzleArchiveWriter(input, GridGeometry.STANDARD, false)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(PackedSudokuGrid.fromLine(i % 2 == 0 ? HARD_PUZZLE : EASY_PUZZLE));
+            }
+            writer.write(PackedSudokuGrid.fromLine("11" + ".".repeat(79)));
+            writer.finish();
+        }
+
+        BatchSolveService batchSolveService = BatchSolveService.build(GamePlayService.build(SolverStrategy.BACKTRACKING), 4, 1L);
+        BatchSolveSummary summary = batchSolveService.solveArchive(input, output);
+
+        assertEquals(100, summary.getSolvedCount());
+        assertEquals(1, summary.getInvalidCount());
+        PuzzleArchive puzzleArchive = PuzzleArchive.open(output);
+        assertEquals(101, puzzleArchive.getCount());
+        assertTrue(puzzleArchive.hasSolutions());
+        for (long record = 0; record < 100; record++) {
+            assertEquals(record % 2 == 0 ? HARD_PUZZLE : EASY_PUZZLE, puzzleArchive.getPuzzle(record).toString());
+            assertTrue(puzzleArchive.isSolved(record));
+            assertEquals(0, puzzleArchive.getSolution(record).getRepeatedPairsCount());
+        }
+        assertFalse(puzzleArchive.isSolved(100));
+    }
+}
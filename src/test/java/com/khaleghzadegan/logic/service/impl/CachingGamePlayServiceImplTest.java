@@ -0,0 +1,111 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolverMetrics;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CachingGamePlayServiceImplTest {
+
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String EASY_PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+
+    @Test
+    public void equivalentPuzzlesShouldShareOneEntry() {
+        GamePlayService gamePlayService = GamePlayService.buildCaching(
+                GamePlayService.build(SolverStrategy.BACKTRACKING), 1 << 20);
+        assertNotNull(gamePlayService.tryToSolve(PackedSudokuGrid.fromLine(HARD_PUZZLE)));
+
+        SeededRandom random = new SeededRandom(7);
+        for (int i = 0; i < 20; i++) {
+            String puzzle = transform(HARD_PUZZLE, random);
+            PackedSudokuGrid blueprint = PackedSudokuGrid.fromLine(puzzle);
+            PackedSudokuGrid answer = gamePlayService.tryToSolve(blueprint);
+            assertNotNull(answer);
+            assertEquals(GridGeometry.STANDARD.getMaxFitnessValue(),
+                    answer.getMaxFitnessValue() - answer.getRepeatedPairsCount());
+            for (int cellIndex = 0; cellIndex < GridGeometry.STANDARD.getCellCount(); cellIndex++) {
+                if (blueprint.isFixed(cellIndex))
+                    assertEquals(blueprint.getCellValue(cellIndex), answer.getCellValue(cellIndex));
+            }
+        }
+        SolverMetrics solverMetrics = gamePlayService.getSolverMetrics();
+        assertEquals(1, solverMetrics.getCacheMisses());
+        assertEquals(20, solverMetrics.getCacheHits());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedAnswers() {
+        CachingGamePlayServiceImpl gamePlayService = new CachingGamePlayServiceImpl(
+                GamePlayService.build(SolverStrategy.BACKTRACKING), 300);
+        gamePlayService.tryToSolve(PackedSudokuGrid.fromLine(HARD_PUZZLE));
+        gamePlayService.tryToSolve(PackedSudokuGrid.fromLine(EASY_PUZZLE));
+        assertEquals(1, gamePlayService.getCachedAnswersCount());
+        assertEquals(1, gamePlayService.getSolverMetrics().getCacheEvictions());
+
+        gamePlayService.tryToSolve(PackedSudokuGrid.fromLine(EASY_PUZZLE));
+        gamePlayService.tryToSolve(PackedSudokuGrid.fromLine(HARD_PUZZLE));
+        assertEquals(1, gamePlayService.getSolverMetrics().getCacheHits());
+        assertEquals(3, gamePlayService.getSolverMetrics().getCacheMisses());
+        assertTrue(gamePlayService.getCachedBytes() <= 300);
+    }
+
+    @Test
+    public void wrappersShouldUseTheSeedConfiguredOnTheirEngine() {
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setSeed(42L);
+        PackedSudokuGrid blueprint = PackedSudokuGrid.fromLine(HARD_PUZZLE);
+        assertEquals(42L, GamePlayService.buildCaching(GamePlayService.build(settings), 1 << 20).newSeed(blueprint));
+        assertEquals(42L, GamePlayService.buildPortfolio(List.of(GamePlayService.build(SolverStrategy.BACKTRACKING),
+                GamePlayService.build(settings))).newSeed(blueprint));
+    }
+
+    // random relabeling, band, stack, row and column swaps, then an optional transposition
+    private static String transform(String puzzle, SeededRandom random) {
+        int[] values = shuffled(9, random);
+        int[] rows = shuffledGroupsAndLines(random);
+        int[] columns = shuffledGroupsAndLines(random);
+        boolean transposed = random.nextInt(2) == 1;
+        StringBuilder transformed = new StringBuilder();
+        for (int row = 0; row < 9; row++) {
+            for (int column = 0; column < 9; column++) {
+                char c = transposed ? puzzle.charAt(columns[row] * 9 + rows[column])
+                        : puzzle.charAt(rows[row] * 9 + columns[column]);
+                transformed.append(c == '.' ? '.' : (char) ('1' + values[c - '1']));
+            }
+        }
+        return transformed.toString();
+    }
+
+    private static int[] shuffledGroupsAndLines(SeededRandom random) {
+        int[] groups = shuffled(3, random);
+        int[] lines = new int[9];
+        for (int group = 0; group < 3; group++) {
+            int[] groupLines = shuffled(3, random);
+            for (int i = 0; i < 3; i++) lines[group * 3 + i] = groups[group] * 3 + groupLines[i];
+        }
+        return lines;
+    }
+
+    private static int[] shuffled(int count, SeededRandom random) {
+        int[] items = new int[count];
+        for (int i = 0; i < count; i++) items[i] = i;
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+        }
+        return items;
+    }
+}
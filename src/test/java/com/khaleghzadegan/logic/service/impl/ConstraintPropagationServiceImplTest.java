@@ -0,0 +1,62 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.ConstraintPropagationService;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConstraintPropagationServiceImplTest {
+
+    private static final String EASY_PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String EASY_SOLUTION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String HARD_SOLUTION =
+            "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+
+    private final ConstraintPropagationService constraintPropagationService = ConstraintPropagationService.build();
+
+    @Test
+    public void shouldSolveEasyPuzzleByPropagationAlone() {
+        PackedSudokuGrid propagated = constraintPropagationService.propagate(toPackedSudokuGrid(EASY_PUZZLE));
+        assertNotNull(propagated);
+        assertEquals(EASY_SOLUTION, propagated.toString());
+        for (int i = 0; i < GridGeometry.STANDARD.getCellCount(); i++) {
+            assertTrue(propagated.isFixed(i));
+        }
+    }
+
+    @Test
+    public void forcedCellsShouldAgreeWithTheSolution() {
+        PackedSudokuGrid propagated = constraintPropagationService.propagate(toPackedSudokuGrid(HARD_PUZZLE));
+        assertNotNull(propagated);
+        for (int i = 0; i < GridGeometry.STANDARD.getCellCount(); i++) {
+            if (propagated.isFixed(i)) assertEquals(HARD_SOLUTION.charAt(i) - '0', propagated.getCellValue(i));
+            else assertEquals(0, propagated.getCellValue(i));
+        }
+    }
+
+    @Test
+    public void shouldDetectContradiction() {
+        // the first row leaves only 9 for its last cell, but the last column already holds a 9
+        String puzzle = "12345678." + "........9" + ".".repeat(63);
+        assertNull(constraintPropagationService.propagate(toPackedSudokuGrid(puzzle)));
+    }
+
+    static PackedSudokuGrid toPackedSudokuGrid(String puzzle) {
+        byte[] cellValues = new byte[GridGeometry.STANDARD.getCellCount()];
+        long[] fixedCellMask = new long[(GridGeometry.STANDARD.getCellCount() + 63) / 64];
+        for (int i = 0; i < GridGeometry.STANDARD.getCellCount(); i++) {
+            char c = puzzle.charAt(i);
+            if (c >= '1' && c <= '9') {
+                cellValues[i] = (byte) (c - '0');
+                fixedCellMask[i >>> 6] |= 1L << i;
+            }
+        }
+        return new PackedSudokuGrid(cellValues, fixedCellMask);
+    }
+}
@@ -0,0 +1,77 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.LocalSearchStrategy;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.GameOperationsService;
+import org.junit.Test;
+
+import static com.khaleghzadegan.logic.service.impl.ConstraintPropagationServiceImplTest.toPackedSudokuGrid;
+import static org.junit.Assert.*;
+
+public class GameOperationsServiceImplTest {
+
+    private static final String PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+
+    @Test
+    public void rowPermutationOperatorsShouldKeepRowsValid() {
+        GameOperationsService gameOperationsService = GameOperationsService.build(new SeededRandom(3L));
+        PackedSudokuGrid blueprint = toPackedSudokuGrid(PUZZLE);
+        PackedSudokuGrid sudokuGrid1 = new PackedSudokuGrid(blueprint);
+        PackedSudokuGrid sudokuGrid2 = new PackedSudokuGrid(blueprint);
+        gameOperationsService.generateRowPermutations(sudokuGrid1);
+        gameOperationsService.generateRowPermutations(sudokuGrid2);
+
+        for (int i = 0; i < 100; i++) {
+            gameOperationsService.performRowExchangeCrossover(sudokuGrid1, sudokuGrid2);
+            gameOperationsService.performSwapMutation(sudokuGrid1);
+            gameOperationsService.performSwapMutation(sudokuGrid2);
+            assertRowsArePermutations(sudokuGrid1);
+            assertRowsArePermutations(sudokuGrid2);
+        }
+        for (int i = 0; i < GridGeometry.STANDARD.getCellCount(); i++) {
+            if (blueprint.isFixed(i)) assertEquals(blueprint.getCellValue(i), sudokuGrid1.getCellValue(i));
+        }
+    }
+
+    @Test
+    public void localSearchShouldNeverWorsenAnIndividual() {
+        PackedSudokuGrid blueprint = toPackedSudokuGrid(PUZZLE);
+        for (LocalSearchStrategy localSearchStrategy : LocalSearchStrategy.values()) {
+            GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+            settings.setLocalSearchStrategy(localSearchStrategy);
+            GameOperationsService gameOperationsService = GameOperationsService.build(settings, new SeededRandom(5L));
+            int improvedCount = 0;
+            for (int i = 0; i < 20; i++) {
+                PackedSudokuGrid sudokuGrid = new PackedSudokuGrid(blueprint);
+                gameOperationsService.generateRowPermutations(sudokuGrid);
+                gameOperationsService.calculateAndUpdateFitnessValue(sudokuGrid);
+                int fitnessValue = sudokuGrid.getGridFitnessValue();
+
+                gameOperationsService.performLocalSearch(sudokuGrid);
+
+                assertTrue(sudokuGrid.getGridFitnessValue() >= fitnessValue);
+                assertEquals(sudokuGrid.getMaxFitnessValue() - sudokuGrid.getRepeatedPairsCount(),
+                        sudokuGrid.getGridFitnessValue());
+                assertRowsArePermutations(sudokuGrid);
+                for (int cellIndex = 0; cellIndex < GridGeometry.STANDARD.getCellCount(); cellIndex++) {
+                    if (blueprint.isFixed(cellIndex))
+                        assertEquals(blueprint.getCellValue(cellIndex), sudokuGrid.getCellValue(cellIndex));
+                }
+                if (sudokuGrid.getGridFitnessValue() > fitnessValue) improvedCount++;
+            }
+            assertEquals(localSearchStrategy != LocalSearchStrategy.NONE, improvedCount > 0);
+        }
+    }
+
+    private static void assertRowsArePermutations(PackedSudokuGrid sudokuGrid) {
+        for (int row = 0; row < sudokuGrid.getGeometry().getSize(); row++) {
+            for (int value = 1; value <= sudokuGrid.getGeometry().getSize(); value++) {
+                assertEquals(1, sudokuGrid.getValueCountInUnit(row, value));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.exception.InvalidInputException;
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GenerationStatistics;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.model.SolverMetrics;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.ResumableGamePlayService;
+import com.khaleghzadegan.logic.service.SolverProgressListener;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.khaleghzadegan.logic.service.impl.ConstraintPropagationServiceImplTest.toPackedSudokuGrid;
+import static org.junit.Assert.*;
+
+public class GamePlayServiceImplTest {
+
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String SOLUTION =
+            "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+
+    @Test
+    public void shouldReportProgressAndMetrics() {
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setConstraintPropagationEnabled(false);
+        settings.setSeed(42L);
+        GamePlayService gamePlayService = GamePlayService.build(settings);
+        List<GenerationStatistics> generations = new CopyOnWriteArrayList<>();
+        List<Long> solvedGenerations = new CopyOnWriteArrayList<>();
+        gamePlayService.addSolverProgressListener(new SolverProgressListener() {
+            @Override
+            public void onGeneration(GenerationStatistics generationStatistics) {
+                generations.add(generationStatistics);
+            }
+
+            @Override
+            public void onSolved(int islandIndex, long generation) {
+                solvedGenerations.add(generation);
+            }
+        });
+
+        String puzzle = ".".repeat(18) + SOLUTION.substring(18, 72) + ".".repeat(9);
+        PackedSudokuGrid answer = gamePlayService.tryToSolve(toPackedSudokuGrid(puzzle));
+
+        assertNotNull(answer);
+        assertEquals(SOLUTION, answer.toString());
+        assertEquals(1, solvedGenerations.size());
+        assertEquals(generations.size(), (long) solvedGenerations.get(0));
+        for (var generationStatistics : generations) {
+            assertTrue(generationStatistics.getBestFitnessValue() >= generationStatistics.getMeanFitnessValue());
+            assertTrue(generationStatistics.getDiversity() >= 0 && generationStatistics.getDiversity() <= 1);
+        }
+        SolverMetrics solverMetrics = gamePlayService.getSolverMetrics();
+        assertEquals(1, solverMetrics.getSolveCalls());
+        assertEquals(1, solverMetrics.getSolvedCount());
+        assertEquals(generations.size(), solverMetrics.getGenerations());
+        assertTrue(solverMetrics.getFitnessEvaluations() > 0);
+        assertEquals(generations.size() * (long) GeneticAlgorithmSettings.DEFAULT_POPULATION_COUNT, solverMetrics.getSelectedIndividuals());
+        assertTrue(solverMetrics.getDuplicateRate() >= 0 && solverMetrics.getDuplicateRate() < 1);
+        assertTrue(solverMetrics.toJson().startsWith("{"));
+    }
+
+    @Test
+    public void shouldReturnBestEffortResultWhenDeadlinePasses() throws Exception {
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setConstraintPropagationEnabled(false);
+        settings.setSeed(42L);
+        GamePlayService gamePlayService = GamePlayService.build(settings);
+        PackedSudokuGrid blueprint = toPackedSudokuGrid(HARD_PUZZLE);
+
+        long start = System.nanoTime();
+        SolveResult solveResult = gamePlayService.solveAsync(blueprint, Duration.ofMillis(200)).get(5, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(SolveStatus.GAVE_UP, solveResult.getSolveStatus());
+        PackedSudokuGrid bestEffort = solveResult.getSudokuGrid();
+        assertNotNull(bestEffort);
+        assertTrue(solveResult.getFitnessValue() > 0 && solveResult.getFitnessValue() < GridGeometry.STANDARD.getMaxFitnessValue());
+        for (int i = 0; i < GridGeometry.STANDARD.getCellCount(); i++) {
+            assertTrue(bestEffort.getCellValue(i) > 0);
+            if (blueprint.isFixed(i)) assertEquals(blueprint.getCellValue(i), bestEffort.getCellValue(i));
+        }
+    }
+
+    @Test
+    public void shouldStopSolvingWhenFutureIsCancelled() throws Exception {
+        CountDownLatch generationsStarted = new CountDownLatch(1);
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setConstraintPropagationEnabled(false);
+        GamePlayService gamePlayService = GamePlayService.build(settings);
+        gamePlayService.addSolverProgressListener(new SolverProgressListener() {
+            @Override
+            public void onGeneration(GenerationStatistics generationStatistics) {
+                generationsStarted.countDown();
+            }
+        });
+
+        CompletableFuture<SolveResult> future = gamePlayService.solveAsync(toPackedSudokuGrid(HARD_PUZZLE), Duration.ofMinutes(5));
+        assertTrue(generationsStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gamePlayService.getSolverMetrics().getSolveCalls() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, gamePlayService.getSolverMetrics().getSolveCalls());
+        assertEquals(0, gamePlayService.getSolverMetrics().getSolvedCount());
+    }
+
+    @Test
+    public void resumedSearchShouldContinueExactlyWhereItStopped() throws Exception {
+        Path checkpointPath = Files.createTempFile("sudoku", ".checkpoint");
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setConstraintPropagationEnabled(false);
+        settings.setAdaptiveControlEnabled(true);
+        settings.setIslandCount(2);
+        settings.setMigrationInterval(20);
+        settings.setIterationCount(200);
+        PackedSudokuGrid blueprint = toPackedSudokuGrid(HARD_PUZZLE);
+        SolveResult uninterruptedResult = GamePlayService.build(settings).solve(blueprint, 7L, CancellationToken.NONE);
+
+        settings.setCheckpointPath(checkpointPath);
+        settings.setCheckpointInterval(Duration.ZERO);
+        GamePlayService interruptedGamePlayService = GamePlayService.build(settings);
+        CancellationToken cancellationToken = new CancellationToken();
+        interruptedGamePlayService.addSolverProgressListener(new SolverProgressListener() {
+            @Override
+            public void onGeneration(GenerationStatistics generationStatistics) {
+                if (generationStatistics.getGeneration() == 90) cancellationToken.cancel();
+            }
+        });
+        interruptedGamePlayService.solve(blueprint, 7L, cancellationToken);
+        assertTrue(Files.exists(checkpointPath));
+
+        GeneticAlgorithmSettings otherSettings = new GeneticAlgorithmSettings(settings);
+        otherSettings.setMutationRate(0.3);
+        try {
+            ResumableGamePlayService.build(otherSettings).resume(checkpointPath, CancellationToken.NONE);
+            fail("Resumed under another mutation rate");
+        } catch (InvalidInputException e) {
+            assertTrue(e.getMessage().contains("mutationRate 0.2, not 0.3"));
+        }
+
+        SolveResult resumedResult = ResumableGamePlayService.build(settings).resume(checkpointPath, CancellationToken.NONE);
+        assertEquals(uninterruptedResult.getSolveStatus(), resumedResult.getSolveStatus());
+        assertEquals(uninterruptedResult.getSudokuGrid().toString(), resumedResult.getSudokuGrid().toString());
+        assertFalse(Files.exists(checkpointPath));
+    }
+}
@@ -0,0 +1,69 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolveStatus;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.khaleghzadegan.logic.service.impl.ConstraintPropagationServiceImplTest.toPackedSudokuGrid;
+import static org.junit.Assert.*;
+
+public class PortfolioGamePlayServiceImplTest {
+
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String HARD_SOLUTION =
+            "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+
+    @Test
+    public void shouldReturnFirstAnswerAndCancelTheGeneticSolver() {
+        GamePlayService gamePlayService = GamePlayService.build(SolverStrategy.PORTFOLIO);
+        long start = System.nanoTime();
+        PackedSudokuGrid answer = gamePlayService.tryToSolve(toPackedSudokuGrid(HARD_PUZZLE), 1L);
+        assertNotNull(answer);
+        assertEquals(HARD_SOLUTION, answer.toString());
+        assertTrue(System.nanoTime() - start < 10_000_000_000L);
+    }
+
+    @Test
+    public void cancelledGeneticSolverShouldGiveUp() {
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setConstraintPropagationEnabled(false);
+        GamePlayService gamePlayService = GamePlayService.buildPortfolio(List.of(GamePlayService.build(settings)));
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+        assertNull(gamePlayService.tryToSolve(toPackedSudokuGrid(HARD_PUZZLE), 1L, cancellationToken));
+    }
+
+    @Test
+    public void exactProofOfNoSolutionShouldEndTheRace() {
+        GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+        settings.setConstraintPropagationEnabled(false);
+        GamePlayService gamePlayService = GamePlayService.buildPortfolio(List.of(
+                GamePlayService.build(SolverStrategy.BACKTRACKING), GamePlayService.build(settings)));
+        long start = System.nanoTime();
+        SolveResult solveResult = gamePlayService.solve(
+                toPackedSudokuGrid("12345678." + "........9" + ".".repeat(63)), 1L, CancellationToken.NONE);
+        assertEquals(SolveStatus.NO_SOLUTION, solveResult.getSolveStatus());
+        assertTrue(System.nanoTime() - start < 10_000_000_000L);
+    }
+
+    @Test
+    public void failingSolverShouldNotAbortTheRace() {
+        GamePlayService failingGamePlayService = new BacktrackingGamePlayServiceImpl() {
+            @Override
+            public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed, CancellationToken cancellationToken) {
+                throw new IllegalStateException("Broken solver");
+            }
+        };
+        GamePlayService gamePlayService = GamePlayService.buildPortfolio(List.of(
+                failingGamePlayService, GamePlayService.build(SolverStrategy.BACKTRACKING)));
+        assertEquals(HARD_SOLUTION, gamePlayService.tryToSolve(toPackedSudokuGrid(HARD_PUZZLE), 1L).toString());
+    }
+}
@@ -0,0 +1,57 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.PuzzleGeneratorService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PuzzleGeneratorServiceImplTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final GamePlayService gamePlayService = GamePlayService.build();
+
+    @Test
+    public void shouldGenerateUniquePuzzlesWithTheTargetGivensCount() {
+        PuzzleGeneratorService puzzleGeneratorService = PuzzleGeneratorService.build(1, 0);
+        for (long seed = 1; seed <= 10; seed++) {
+            PackedSudokuGrid puzzle = puzzleGeneratorService.generate(GridGeometry.STANDARD, 26, seed);
+            assertNotNull(puzzle);
+            assertEquals(26, getGivensCount(puzzle));
+            assertTrue(gamePlayService.hasUniqueSolution(puzzle));
+            assertEquals(puzzle.toString(), puzzleGeneratorService.generate(GridGeometry.STANDARD, 26, seed).toString());
+        }
+        PackedSudokuGrid puzzle = puzzleGeneratorService.generate(GridGeometry.of(16), 160, 1);
+        assertNotNull(puzzle);
+        assertTrue(gamePlayService.hasUniqueSolution(puzzle));
+    }
+
+    @Test
+    public void outputShouldNotDependOnThreadsCount() throws Exception {
+        Path singleThreadOutput = temporaryFolder.newFile("single.txt").toPath();
+        Path multiThreadOutput = temporaryFolder.newFile("multi.txt").toPath();
+        assertEquals(40, PuzzleGeneratorService.build(1, 42).generate(GridGeometry.STANDARD, 28, 40, singleThreadOutput));
+        assertEquals(40, PuzzleGeneratorService.build(4, 42).generate(GridGeometry.STANDARD, 28, 40, multiThreadOutput));
+        List<String> lines = Files.readAllLines(multiThreadOutput);
+        assertEquals(Files.readAllLines(singleThreadOutput), lines);
+        assertEquals(40, lines.stream().distinct().count());
+    }
+
+    private static int getGivensCount(PackedSudokuGrid puzzle) {
+        int givensCount = 0;
+        for (int i = 0; i < puzzle.getCellCount(); i++) {
+            if (puzzle.isFixed(i)) givensCount++;
+        }
+        return givensCount;
+    }
+}
@@ -0,0 +1,75 @@
+package com.khaleghzadegan.logic.service.impl;
+
+import com.khaleghzadegan.logic.model.GeneticAlgorithmSettings;
+import com.khaleghzadegan.logic.model.GridGeometry;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SelectionStrategy;
+import com.khaleghzadegan.logic.random.SeededRandom;
+import com.khaleghzadegan.logic.service.SelectionService;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SelectionServiceImplTest {
+
+    private static final int POPULATION_COUNT = 50;
+
+    @Test
+    public void truncationShouldKeepFittestHalfInAscendingOrder() {
+        PackedSudokuGrid[] parents = createPopulation(1);
+        PackedSudokuGrid[] offspring = createPopulation(2);
+        PackedSudokuGrid[] nextGeneration = createPopulation(3);
+
+        SelectionService.build().select(parents, offspring, nextGeneration);
+
+        int[] fitnessValues = new int[2 * POPULATION_COUNT];
+        for (int i = 0; i < POPULATION_COUNT; i++) {
+            fitnessValues[i] = parents[i].getGridFitnessValue();
+            fitnessValues[POPULATION_COUNT + i] = offspring[i].getGridFitnessValue();
+        }
+        Arrays.sort(fitnessValues);
+        for (int i = 0; i < POPULATION_COUNT; i++) {
+            assertEquals(fitnessValues[POPULATION_COUNT + i], nextGeneration[i].getGridFitnessValue());
+        }
+    }
+
+    @Test
+    public void tournamentAndRankShouldOnlyCopyCandidates() {
+        for (var selectionStrategy : new SelectionStrategy[]{SelectionStrategy.TOURNAMENT, SelectionStrategy.RANK}) {
+            GeneticAlgorithmSettings settings = new GeneticAlgorithmSettings();
+            settings.setSelectionStrategy(selectionStrategy);
+            PackedSudokuGrid[] parents = createPopulation(4);
+            PackedSudokuGrid[] offspring = createPopulation(5);
+            PackedSudokuGrid[] nextGeneration = createPopulation(6);
+            Set<String> candidates = new HashSet<>();
+            for (int i = 0; i < POPULATION_COUNT; i++) {
+                candidates.add(parents[i].toString());
+                candidates.add(offspring[i].toString());
+            }
+
+            SelectionService.build(settings, new SeededRandom(7L)).select(parents, offspring, nextGeneration);
+
+            for (var sudokuGrid : nextGeneration) {
+                assertTrue(selectionStrategy.name(), candidates.contains(sudokuGrid.toString()));
+            }
+        }
+    }
+
+    private static PackedSudokuGrid[] createPopulation(long seed) {
+        SeededRandom random = new SeededRandom(seed);
+        PackedSudokuGrid blueprint = PackedSudokuGrid.fromLine(".".repeat(GridGeometry.STANDARD.getCellCount()));
+        PackedSudokuGrid[] population = new PackedSudokuGrid[POPULATION_COUNT];
+        for (int i = 0; i < POPULATION_COUNT; i++) {
+            population[i] = new PackedSudokuGrid(blueprint);
+            for (int j = 0; j < GridGeometry.STANDARD.getCellCount(); j++) {
+                population[i].setCellValue(j, random.nextInt(9) + 1);
+            }
+            population[i].setGridFitnessValue(GridGeometry.STANDARD.getMaxFitnessValue() - population[i].getRepeatedPairsCount());
+        }
+        return population;
+    }
+}
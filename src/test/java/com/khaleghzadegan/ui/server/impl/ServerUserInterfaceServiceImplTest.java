@@ -0,0 +1,121 @@
+package com.khaleghzadegan.ui.server.impl;
+
+import com.khaleghzadegan.logic.model.CancellationToken;
+import com.khaleghzadegan.logic.model.LatencyHistogram;
+import com.khaleghzadegan.logic.model.PackedSudokuGrid;
+import com.khaleghzadegan.logic.model.SolveResult;
+import com.khaleghzadegan.logic.model.SolverStrategy;
+import com.khaleghzadegan.logic.service.GamePlayService;
+import com.khaleghzadegan.logic.service.impl.BacktrackingGamePlayServiceImpl;
+import org.junit.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class ServerUserInterfaceServiceImplTest {
+
+    private static final String HARD_PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String HARD_SOLUTION =
+            "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    public void shouldSolvePostedPuzzles() throws Exception {
+        ServerUserInterfaceServiceImpl server = new ServerUserInterfaceServiceImpl(
+                GamePlayService.build(SolverStrategy.BACKTRACKING), 0, 2, 4, Duration.ofSeconds(10));
+        int port = server.start();
+        try {
+            HttpResponse<String> response = post(port, HARD_PUZZLE);
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().startsWith(HARD_PUZZLE + "," + HARD_SOLUTION + ",SOLVED,"));
+            assertTrue(response.body().strip().matches(".*,SOLVED,\\d+,-?\\d+"));
+            HttpResponse<String> seededResponse = httpClient.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/solve?seed=42"))
+                    .POST(HttpRequest.BodyPublishers.ofString(HARD_PUZZLE)).build(), HttpResponse.BodyHandlers.ofString());
+            assertTrue(seededResponse.body().strip().endsWith(",42"));
+
+            HttpResponse<String> unsolvableResponse = post(port, "12345678." + "........9" + ".".repeat(63));
+            assertEquals(200, unsolvableResponse.statusCode());
+            assertTrue(unsolvableResponse.body().contains(",NO_SOLUTION,"));
+            assertEquals(400, post(port, "11" + ".".repeat(79)).statusCode());
+            assertEquals(400, post(port, "not a puzzle").statusCode());
+
+            HttpResponse<String> metrics = httpClient.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/metrics")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, metrics.statusCode());
+            assertTrue(metrics.body().contains("\"accepted\":4"));
+            assertTrue(metrics.body().contains("\"results\":{\"SOLVED\":2,\"INVALID\":1,\"GAVE_UP\":0,\"NO_SOLUTION\":1}"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void shouldShedLoadWhenTheQueueIsFull() throws Exception {
+        CountDownLatch solving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GamePlayService blockingGamePlayService = new BacktrackingGamePlayServiceImpl() {
+            @Override
+            public SolveResult solve(PackedSudokuGrid blueprintSudokuGrid, long seed,
+                                     CancellationToken cancellationToken) {
+                solving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.solve(blueprintSudokuGrid, seed, cancellationToken);
+            }
+        };
+        ServerUserInterfaceServiceImpl server = new ServerUserInterfaceServiceImpl(
+                blockingGamePlayService, 0, 1, 0, Duration.ofSeconds(10));
+        int port = server.start();
+        try {
+            CompletableFuture<HttpResponse<String>> first = httpClient.sendAsync(
+                    newSolveRequest(port, HARD_PUZZLE), HttpResponse.BodyHandlers.ofString());
+            solving.await();
+            HttpResponse<String> second = post(port, HARD_PUZZLE);
+            assertEquals(503, second.statusCode());
+            assertTrue(second.headers().firstValue("Retry-After").isPresent());
+
+            release.countDown();
+            assertEquals(200, first.get().statusCode());
+            assertTrue(server.getMetricsJson().contains("\"rejected\":1"));
+        } finally {
+            release.countDown();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void percentilesShouldStayWithinTheBucketPrecision() {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            latencyHistogram.record(micros * 1_000L);
+        }
+        assertEquals(1000, latencyHistogram.getCount());
+        long median = latencyHistogram.getPercentileMicros(50);
+        assertTrue(median >= 500 && median <= 500 * 9 / 8);
+        long max = latencyHistogram.getPercentileMicros(100);
+        assertTrue(max >= 1000 && max <= 1000 * 9 / 8);
+    }
+
+    private HttpResponse<String> post(int port, String puzzle) throws Exception {
+        return httpClient.send(newSolveRequest(port, puzzle), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest newSolveRequest(int port, String puzzle) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/solve"))
+                .POST(HttpRequest.BodyPublishers.ofString(puzzle))
+                .build();
+    }
+}